@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * generates {@link LocalizerSnapshot} into the directory of classes, with the profile {@code "snapshot"}. Build only, not packaged.
+ *
+ * @author furplag
+ */
+public final class LocalizerSnapshotGenerator {
+
+  /**
+   * LocalizerSnapshotGenerator instances should NOT be constructed in standard programming.
+   */
+  private LocalizerSnapshotGenerator() {}
+
+  /**
+   * generates the snapshot into the directory of classes.
+   *
+   * @param args the directory of classes, e.g. {@code "target/classes"}.
+   * @throws IOException if an I/O error occurs.
+   */
+  public static void main(final String[] args) throws IOException {
+    if (args == null || args.length < 1) throw new IllegalArgumentException("usage: LocalizerSnapshotGenerator <classes directory>");
+    LocalizerSnapshot.write(Paths.get(args[0]));
+  }
+}
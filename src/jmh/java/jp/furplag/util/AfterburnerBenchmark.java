@@ -0,0 +1,192 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * POJO-heavy payloads, reflection (the default) versus generated accessors ( {@link JSONifier#AFTERBURNER} ).
+ * <p>
+ * on Java 9 and later, run with {@code -jvmArgsAppend --add-opens=java.base/java.lang=ALL-UNNAMED} to enable the generated accessors.
+ * </p>
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AfterburnerBenchmark {
+
+  public static class Item {
+
+    private long id;
+
+    private String code;
+
+    private String name;
+
+    private int quantity;
+
+    private double price;
+
+    private boolean available;
+
+    private LocalDate released;
+
+    private LocalDateTime updated;
+
+    private List<String> tags;
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getCode() {
+      return code;
+    }
+
+    public void setCode(String code) {
+      this.code = code;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getQuantity() {
+      return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+      this.quantity = quantity;
+    }
+
+    public double getPrice() {
+      return price;
+    }
+
+    public void setPrice(double price) {
+      this.price = price;
+    }
+
+    public boolean isAvailable() {
+      return available;
+    }
+
+    public void setAvailable(boolean available) {
+      this.available = available;
+    }
+
+    public LocalDate getReleased() {
+      return released;
+    }
+
+    public void setReleased(LocalDate released) {
+      this.released = released;
+    }
+
+    public LocalDateTime getUpdated() {
+      return updated;
+    }
+
+    public void setUpdated(LocalDateTime updated) {
+      this.updated = updated;
+    }
+
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public void setTags(List<String> tags) {
+      this.tags = tags;
+    }
+  }
+
+  @Param({"reflection", "afterburner"})
+  public String accessors;
+
+  @Param({"1", "1000"})
+  public int size;
+
+  private JSONCodec<List<Item>> codec;
+
+  private List<Item> items;
+
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws IOException {
+    codec = JSONMapper.builder().afterburner("afterburner".equals(accessors)).build().codec(new TypeReference<List<Item>>() {});
+    items = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      final Item item = new Item();
+      item.setId(i);
+      item.setCode(String.format("%08d", i));
+      item.setName("item " + i);
+      item.setQuantity(i % 100);
+      item.setPrice(i * 1.5d);
+      item.setAvailable(i % 2 == 0);
+      item.setReleased(LocalDate.of(2017, 1, 1).plusDays(i % 365));
+      item.setUpdated(LocalDateTime.of(2017, 1, 1, 0, 0).plusMinutes(i));
+      final List<String> tags = new ArrayList<>();
+      tags.add("a");
+      tags.add("b");
+      item.setTags(tags);
+      items.add(item);
+    }
+    json = codec.stringifyAsBytes(items);
+  }
+
+  @Benchmark
+  public byte[] stringify() throws IOException {
+    return codec.stringifyAsBytes(items);
+  }
+
+  @Benchmark
+  public List<Item> parse() throws IOException {
+    return codec.parse(json);
+  }
+}
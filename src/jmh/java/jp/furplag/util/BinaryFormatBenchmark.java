@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import jp.furplag.util.AfterburnerBenchmark.Item;
+
+/**
+ * size and throughput of the text JSON versus binary formats (CBOR, Smile).
+ * <p>
+ * the encoded size is printed at setup of each trial.
+ * </p>
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+  @Param({"json", "cbor", "smile"})
+  public String format;
+
+  @Param({"1", "1000"})
+  public int size;
+
+  private JSONCodec<List<Item>> codec;
+
+  private List<Item> items;
+
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    final JSONMapper mapper = "cbor".equals(format) ? JSONifier.cbor() : "smile".equals(format) ? JSONifier.smile() : JSONMapper.builder().build();
+    codec = mapper.codec(new TypeReference<List<Item>>() {});
+    items = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      final Item item = new Item();
+      item.setId(i);
+      item.setCode(String.format("%08d", i));
+      item.setName("品目 " + i);
+      item.setQuantity(i % 100);
+      item.setPrice(i * 1.5d);
+      item.setAvailable(i % 2 == 0);
+      item.setReleased(LocalDate.of(2017, 1, 1).plusDays(i % 365));
+      item.setUpdated(LocalDateTime.of(2017, 1, 1, 0, 0).plusMinutes(i));
+      item.setTags(Arrays.asList("a", "b"));
+      items.add(item);
+    }
+    encoded = codec.stringifyAsBytes(items);
+    System.out.printf("%n%s: %d items encoded in %d bytes.%n", format, size, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] stringify() throws IOException {
+    return codec.stringifyAsBytes(items);
+  }
+
+  @Benchmark
+  public List<Item> parse() throws IOException {
+    return codec.parse(encoded);
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * inputs of benchmarks: ASCII, mixed Japanese, emoji with surrogate pairs, and a large payload.
+ *
+ * @author furplag
+ */
+public final class Datasets {
+
+  /** ASCII only. */
+  public static final String ASCII = "The quick brown fox jumps over the lazy dog. 0123456789";
+
+  /** mixed Japanese, includes full-width and half-width forms. */
+  public static final String JAPANESE = "東京都千代田区丸の内１－１－１　ｶﾌﾞｼｷｶﾞｲｼｬ　あいうえお ABC－ＤＥＦ";
+
+  /** emoji and the other supplementary characters, represented by surrogate pairs. */
+  public static final String EMOJI = "🍣 sushi 😀 鮨鮃𠮷𩸽鮪 👨‍👩‍👧";
+
+  private static volatile String large;
+
+  /**
+   * Datasets instances should NOT be constructed in standard programming.
+   */
+  private Datasets() {}
+
+  /**
+   * returns the dataset of specified name.
+   *
+   * @param name one of "ascii", "japanese", "emoji" and "large".
+   * @return the dataset.
+   */
+  public static String of(final String name) {
+    switch (String.valueOf(name)) {
+      case "japanese":
+        return JAPANESE;
+      case "emoji":
+        return EMOJI;
+      case "large":
+        return large();
+      default:
+        return ASCII;
+    }
+  }
+
+  /**
+   * returns a large payload (about 1 MB) of mixed ASCII, Japanese and emoji.
+   *
+   * @return a large payload.
+   */
+  public static String large() {
+    if (large == null) {
+      final StringBuilder sb = new StringBuilder(1 << 20);
+      while (sb.length() < (1 << 19)) sb.append(ASCII).append(' ').append(JAPANESE).append('\n').append(EMOJI).append('\t');
+      large = sb.toString();
+    }
+
+    return large;
+  }
+
+  /**
+   * returns the list of fields (the dataset separated by whitespace).
+   *
+   * @param name the name of the dataset.
+   * @return the fields.
+   */
+  public static String[] fields(final String name) {
+    final List<String> fields = new ArrayList<>();
+    for (String field : of(name).split("[\\s　]+")) fields.add(field);
+    fields.add(null);
+    fields.add("");
+
+    return fields.toArray(new String[fields.size()]);
+  }
+}
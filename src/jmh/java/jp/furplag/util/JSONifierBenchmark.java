@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+/**
+ * public methods of {@link JSONifier}.
+ *
+ * @author furplag
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONifierBenchmark {
+
+  private static final TypeReference<Map<String, List<String>>> TYPE_REFERENCE = new TypeReference<Map<String, List<String>>>() {};
+
+  public static class Entity {
+
+    public String[] fields;
+
+    public String text;
+
+    public long length;
+  }
+
+  @Param({"ascii", "japanese", "emoji", "large"})
+  public String dataset;
+
+  private static final JSONCodec<Entity> CODEC = JSONifier.codec(Entity.class);
+
+  private Entity entity;
+
+  private String json;
+
+  private String mapJson;
+
+  private ByteBuffer direct;
+
+  private final ByteArrayBuilder builder = new ByteArrayBuilder();
+
+  @Setup
+  public void setUp() throws IOException {
+    entity = new Entity();
+    entity.text = Datasets.of(dataset);
+    entity.fields = Datasets.fields(dataset);
+    entity.length = entity.text.length();
+    json = JSONifier.stringify(entity);
+    mapJson = JSONifier.stringify(Collections.singletonMap("fields", entity.fields));
+    direct = ByteBuffer.allocateDirect(JSONifier.stringifyAsBytes(entity).length);
+  }
+
+  @Benchmark
+  public String stringify() throws IOException {
+    return JSONifier.stringify(entity);
+  }
+
+  @Benchmark
+  public String stringifyLazy() {
+    return JSONifier.stringifyLazy(entity);
+  }
+
+  @Benchmark
+  public String stringifyCodec() throws IOException {
+    return CODEC.stringify(entity);
+  }
+
+  @Benchmark
+  public byte[] stringifyAsBytes() throws IOException {
+    return CODEC.stringifyAsBytes(entity);
+  }
+
+  @Benchmark
+  public byte[] writeValueAsBytes() throws IOException {
+    return CODEC.writer().writeValueAsBytes(entity);
+  }
+
+  @Benchmark
+  public int writeToDirectBuffer() throws IOException {
+    direct.clear();
+
+    return CODEC.writeTo(entity, direct);
+  }
+
+  @Benchmark
+  public int writeToBuilder() throws IOException {
+    builder.reset();
+
+    return CODEC.writeTo(entity, builder);
+  }
+
+  @Benchmark
+  public Entity parseCodec() throws IOException {
+    return CODEC.parse(json);
+  }
+
+  @Benchmark
+  public Entity parse() throws IOException {
+    return JSONifier.parse(json, Entity.class);
+  }
+
+  @Benchmark
+  public Map<String, List<String>> parseTypeReference() throws IOException {
+    return JSONifier.parse(mapJson, TYPE_REFERENCE);
+  }
+
+  @Benchmark
+  public Entity parseLazy() {
+    return JSONifier.parseLazy(json, Entity.class);
+  }
+
+  @Benchmark
+  public Map<String, List<String>> parseLazyTypeReference() {
+    return JSONifier.parseLazy(mapJson, TYPE_REFERENCE);
+  }
+
+  @Benchmark
+  public Object extract() throws IOException {
+    return JSONifier.extract(json, "/length", "/fields/1").get("/length");
+  }
+
+  @Benchmark
+  public Object parseThenGet() throws IOException {
+    final Map<?, ?> map = JSONifier.parse(json, Map.class);
+    ((List<?>) map.get("fields")).get(1);
+
+    return map.get("length");
+  }
+
+  @Benchmark
+  public Entity parseLazyFailure() {
+    return JSONifier.parseLazy(entity.text, Entity.class);
+  }
+
+  @Benchmark
+  public boolean tryParseFailure() {
+    return JSONifier.tryParse(entity.text, Entity.class).isSuccess();
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link LocaleNegotiator}, compared with {@link Locale#lookup(List, java.util.Collection)}.
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocaleNegotiatorBenchmark {
+
+  @Param({"ja", "ja-JP,en-US;q=0.8,en;q=0.6", "fr-CH, fr;q=0.9, en;q=0.8, de;q=0.7, *;q=0.5", "zh-Hant-TW,zh;q=0.9,ko;q=0.8,it;q=0.7,es-419;q=0.6,pt-BR;q=0.5,en-US;q=0.4"})
+  public String acceptLanguage;
+
+  private final List<Locale> supported = Arrays.asList(Locale.US, Locale.JAPAN, Locale.FRANCE, Locale.GERMANY, Locale.ITALY, Locale.KOREA, Locale.TAIWAN);
+
+  private final LocaleNegotiator negotiator = LocaleNegotiator.of(Locale.US, supported.toArray(new Locale[]{}));
+
+  @Benchmark
+  public Locale negotiate() {
+    return negotiator.negotiate(acceptLanguage);
+  }
+
+  @Benchmark
+  public Locale negotiateUncached() {
+    return negotiator.resolve(acceptLanguage);
+  }
+
+  @Benchmark
+  public List<LocaleNegotiator.LanguageRange> parse() {
+    return LocaleNegotiator.parse(acceptLanguage);
+  }
+
+  @Benchmark
+  public List<Locale.LanguageRange> parseJDK() {
+    return Locale.LanguageRange.parse(acceptLanguage);
+  }
+
+  @Benchmark
+  public Locale lookupJDK() {
+    final Locale locale = Locale.lookup(Locale.LanguageRange.parse(acceptLanguage), supported);
+
+    return locale == null ? Locale.US : locale;
+  }
+}
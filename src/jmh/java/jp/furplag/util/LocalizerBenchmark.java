@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * public methods of {@link Localizer}.
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalizerBenchmark {
+
+  @Param({"Asia/Tokyo", "JST", "SystemV/EST5", "+09:00", "-9", "＋０９：３０", "invalid"})
+  public String zone;
+
+  @Param({"ja_JP", "ja_JP_JP", "sr_BA_#Latn", "ja-JP", "invalid_LOCALE"})
+  public String locale;
+
+  private final TimeZone timeZone = TimeZone.getTimeZone("JST");
+
+  private String[] localeArgs;
+
+  @Setup
+  public void setup() {
+    localeArgs = locale.split("_");
+  }
+
+  @Benchmark
+  public ZoneId getZoneId() {
+    return Localizer.getZoneId(zone);
+  }
+
+  @Benchmark
+  public ZoneId getZoneIdUncached() {
+    ZoneIdCache.invalidateAll();
+
+    return Localizer.getZoneId(zone);
+  }
+
+  @Benchmark
+  public ZoneOffset parseOffset() {
+    return ZoneOffsets.parse(zone);
+  }
+
+  @Benchmark
+  public ZoneId getZoneIdTimeZone() {
+    return Localizer.getZoneId(timeZone);
+  }
+
+  @Benchmark
+  public ZoneId getZoneIdMillis() {
+    return Localizer.getZoneId(32400000L);
+  }
+
+  @Benchmark
+  public Locale getAvailableLocale() {
+    return Localizer.getAvailableLocale((Object) locale);
+  }
+
+  @Benchmark
+  public Locale getAvailableLocaleArgs() {
+    return Localizer.getAvailableLocale(localeArgs);
+  }
+
+  @Benchmark
+  public Locale[] getAvailableLocales() {
+    return Localizer.getAvailableLocales();
+  }
+
+  @Benchmark
+  public String[] getAvailableZoneIds() {
+    return Localizer.getAvailableZoneIds();
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * startup cost of {@link Localizer}, the first lookup in a fresh JVM with and without the snapshot of {@link LocalizerSnapshot}.
+ * <p>
+ * the snapshot is generated with the profile {@code "snapshot"}, e.g. "mvn -P benchmark,snapshot process-test-classes exec:exec -Djmh.args='LocalizerStartupBenchmark'".
+ * </p>
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class LocalizerStartupBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class AvailableLocales {
+
+    private final Locale[] locales = Locale.getAvailableLocales();
+  }
+
+  @Benchmark
+  public Locale firstLookup() {
+    return Localizer.getAvailableLocale("ja_JP");
+  }
+
+  @Benchmark
+  @Fork(value = 10, jvmArgsAppend = "-D" + LocalizerSnapshot.PROPERTY + "=false")
+  public Locale firstLookupWithoutSnapshot() {
+    return Localizer.getAvailableLocale("ja_JP");
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 3, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  @Fork(1)
+  public Map<String, Locale> loadSnapshot(final AvailableLocales availableLocales) {
+    return LocalizerSnapshot.load(availableLocales.locales);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 3, time = 1)
+  @Measurement(iterations = 5, time = 1)
+  @Fork(1)
+  public Map<String, Locale> spellings(final AvailableLocales availableLocales) {
+    return Localizer.spellings(availableLocales.locales);
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * public methods of {@link RefrectionUtils}.
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RefrectionUtilsBenchmark {
+
+  public static class Parent {
+
+    private String name = "parent";
+
+    private String name() {
+      return name;
+    }
+  }
+
+  public static class Child extends Parent {
+
+    private Child() {}
+  }
+
+  private final Child child = new Child();
+
+  private final Method method = RefrectionUtils.getMethod(Parent.class, "name");
+
+  @Benchmark
+  public Field getField() {
+    return RefrectionUtils.getField(Parent.class, "name");
+  }
+
+  @Benchmark
+  public Field getFieldInherited() {
+    return RefrectionUtils.getField(Child.class, "name");
+  }
+
+  @Benchmark
+  public Method getMethod() {
+    return RefrectionUtils.getMethod(Parent.class, "name");
+  }
+
+  @Benchmark
+  public Method getMethodInherited() {
+    return RefrectionUtils.getMethod(Child.class, "name");
+  }
+
+  @Benchmark
+  public Constructor<Child> getConstructor() {
+    return RefrectionUtils.getConstructor(Child.class);
+  }
+
+  @Benchmark
+  public Object invoke() {
+    return RefrectionUtils.invoke(method, child);
+  }
+}
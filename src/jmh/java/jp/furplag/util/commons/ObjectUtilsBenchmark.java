@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * public methods of {@link ObjectUtils} and {@link ClassUtils}.
+ *
+ * @author furplag
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectUtilsBenchmark {
+
+  private static final TypeReference<Map<String, List<Integer>>> TYPE_REFERENCE = new TypeReference<Map<String, List<Integer>>>() {};
+
+  public static class Entity {
+
+    public long id;
+
+    public String name;
+  }
+
+  private final Object[] objects = {1, 2L, 'c', true, 1.5d};
+
+  @Benchmark
+  public boolean isAny() {
+    return ObjectUtils.isAny(1, String.class, Long.class, int.class);
+  }
+
+  @Benchmark
+  public boolean isAnyArray() {
+    return ObjectUtils.isAny(new int[]{1}, String.class, Integer.class);
+  }
+
+  @Benchmark
+  public Object newInstance() throws InstantiationException {
+    return ObjectUtils.newInstance(Entity.class);
+  }
+
+  @Benchmark
+  public Object newInstancePrimitive() throws InstantiationException {
+    return ObjectUtils.newInstance(int.class);
+  }
+
+  @Benchmark
+  public Object newInstanceInterface() throws InstantiationException {
+    return ObjectUtils.newInstance(List.class);
+  }
+
+  @Benchmark
+  public Object newInstanceTypeReference() throws InstantiationException {
+    return ObjectUtils.newInstance(TYPE_REFERENCE);
+  }
+
+  @Benchmark
+  public boolean isPrimitiveOrWrappers() {
+    return ClassUtils.isPrimitiveOrWrappers(objects);
+  }
+
+  @Benchmark
+  public boolean isPrimitiveWrappers() {
+    return ClassUtils.isPrimitiveWrappers(objects);
+  }
+}
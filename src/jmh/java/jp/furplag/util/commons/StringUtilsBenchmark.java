@@ -0,0 +1,224 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jp.furplag.util.Datasets;
+import jp.furplag.util.commons.StringUtils.KanaForm;
+
+/**
+ * public methods of {@link StringUtils}.
+ *
+ * @author furplag
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+  @Param({"ascii", "japanese", "emoji", "large"})
+  public String dataset;
+
+  private String str;
+
+  private String[] fields;
+
+  private static final Charset SHIFT_JIS = Charset.forName("Shift_JIS");
+
+  private static final Pattern PATTERN = Pattern.compile("[0-9０-９]+");
+
+  @Setup
+  public void setUp() {
+    str = Datasets.of(dataset);
+    fields = Datasets.fields(dataset);
+  }
+
+  @Benchmark
+  public int byteLength() {
+    return StringUtils.byteLength(str);
+  }
+
+  @Benchmark
+  public int byteLengthShiftJIS() {
+    return StringUtils.byteLength(str, SHIFT_JIS);
+  }
+
+  @Benchmark
+  public String flatten() {
+    return StringUtils.flatten(str);
+  }
+
+  @Benchmark
+  public int[] getCodePoints() {
+    return StringUtils.getCodePoints(str);
+  }
+
+  @Benchmark
+  public boolean isSimilarToBlank() {
+    return StringUtils.isSimilarToBlank(str);
+  }
+
+  @Benchmark
+  public String joinExcludesBlank() {
+    return StringUtils.joinExcludesBlank(fields, ",");
+  }
+
+  @Benchmark
+  public String joinExcludesBlankRange() {
+    return StringUtils.joinExcludesBlank(fields, ",", 1, -1);
+  }
+
+  @Benchmark
+  public StringWriter joinExcludesBlankAppendable() throws IOException {
+    return StringUtils.joinExcludesBlank(new StringWriter(), fields, ",", 0, fields.length);
+  }
+
+  @Benchmark
+  public String joiningExcludesBlank() {
+    return Arrays.stream(fields).collect(StringUtils.joiningExcludesBlank(","));
+  }
+
+  @Benchmark
+  public int length() {
+    return StringUtils.length(str);
+  }
+
+  @Benchmark
+  public String normalize() {
+    return StringUtils.normalize(str);
+  }
+
+  @Benchmark
+  public String normalizeEmptyToBlank() {
+    return StringUtils.normalize(str, true);
+  }
+
+  @Benchmark
+  public String normalizeCached() {
+    return StringUtils.normalizeCached(str, false);
+  }
+
+  @Benchmark
+  public String normalizeKana() {
+    return StringUtils.normalizeKana(str, true);
+  }
+
+  @Benchmark
+  public String normalizeKanaHalfwidth() {
+    return StringUtils.normalizeKana(str, KanaForm.HALFWIDTH_KATAKANA, true);
+  }
+
+  @Benchmark
+  public String replaceAll() {
+    return StringUtils.replaceAll(str, "[0-9０-９]+", "#");
+  }
+
+  @Benchmark
+  public String replaceAllMatches() {
+    return StringUtils.replaceAllMatches(str, PATTERN, "#");
+  }
+
+  @Benchmark
+  public String replaceLast() {
+    return StringUtils.replaceLast(str, "[0-9０-９]+", "#");
+  }
+
+  @Benchmark
+  public String replaceLastMatch() {
+    return StringUtils.replaceLastMatch(str, PATTERN, "#");
+  }
+
+  @Benchmark
+  public String[] splitUBL() {
+    return StringUtils.splitUBL(str, 80);
+  }
+
+  @Benchmark
+  public String[] splitUBLShiftJIS() {
+    return StringUtils.splitUBL(str, 80, SHIFT_JIS);
+  }
+
+  @Benchmark
+  public int[] splitIndicesUBL() {
+    return StringUtils.splitIndicesUBL(str, 80, StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public void iterateUBL(final Blackhole blackhole) {
+    for (Iterator<CharSequence> iterator = StringUtils.iterateUBL(str, 80, StandardCharsets.UTF_8); iterator.hasNext();) blackhole.consume(iterator.next());
+  }
+
+  @Benchmark
+  public long streamUBL() {
+    return StringUtils.streamUBL(str, 80, StandardCharsets.UTF_8).count();
+  }
+
+  @Benchmark
+  public String substringUBL() {
+    return StringUtils.substringUBL(str, 8, 80);
+  }
+
+  @Benchmark
+  public String substringUBLShiftJIS() {
+    return StringUtils.substringUBL(str, 8, 80, SHIFT_JIS);
+  }
+
+  @Benchmark
+  public String substringUCL() {
+    return StringUtils.substringUCL(str, 8, -8);
+  }
+
+  @Benchmark
+  public String trim() {
+    return StringUtils.trim(str);
+  }
+
+  @Benchmark
+  public String trimEmptyToBlank() {
+    return StringUtils.trim(str, true);
+  }
+
+  @Benchmark
+  public int codePointView() {
+    final CodePointView codePoints = CodePointView.of(str);
+
+    return codePoints.codePointAt(codePoints.length() / 2);
+  }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * scanners of {@link StringUtils#isSimilarToBlank(String)}, {@link StringUtils#trim(String, boolean)} and {@link StringUtils#flatten(String)}, against the regular expressions which they replaced.
+ *
+ * @author furplag
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WhitespaceBenchmark {
+
+  @Param({"plain", "padded", "blank", "japanese"})
+  public String dataset;
+
+  private String str;
+
+  @Setup
+  public void setUp() {
+    switch (dataset) {
+      case "padded":
+        str = " \t Request-Parsing   Hot  Path \r\n";
+        break;
+      case "blank":
+        str = " \t　 \r\n";
+        break;
+      case "japanese":
+        str = "　東京都　千代田区　丸の内 ";
+        break;
+      default:
+        str = "request-parsing-hot-path";
+    }
+  }
+
+  @Benchmark
+  public boolean isSimilarToBlank() {
+    return StringUtils.isSimilarToBlank(str);
+  }
+
+  @Benchmark
+  public boolean isSimilarToBlankRegex() {
+    return StringUtils.defaultString(str).replaceAll("[\\s\\r\\n\\t　]", "").length() == 0;
+  }
+
+  @Benchmark
+  public String trim() {
+    return StringUtils.trim(str, false);
+  }
+
+  @Benchmark
+  public String trimRegex() {
+    return isSimilarToBlankRegex() ? null : StringUtils.defaultString(str).replaceAll("[\\s\\t　]+", " ").trim();
+  }
+
+  @Benchmark
+  public String flatten() {
+    return StringUtils.flatten(str);
+  }
+
+  @Benchmark
+  public String flattenRegex() {
+    return (isSimilarToBlankRegex() ? "" : StringUtils.defaultString(str).replaceAll("[\\s\\t　]+", " ").trim()).toLowerCase().replaceAll("\\s", "");
+  }
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+/**
+ * splits a JSON array encoded in UTF-8 into chunks of the elements, by scanning the bytes once.
+ * <p>
+ * the scan tracks only strings (and its escapes) and nesting, so that the chunks are split at the commas between the top-level elements. The structural characters never appear in multibyte sequences of UTF-8, so that the bytes are scanned without decoding. The syntax is validated by the parser, when the chunks are bound.
+ * </p>
+ *
+ * @author furplag
+ */
+final class JSONArraySplitter {
+
+  /** the input smaller than this is not split. */
+  static final long THRESHOLD = 1 << 20;
+
+  /** the minimum size of chunks. */
+  static final long MINIMUM_CHUNK = 1 << 18;
+
+  /** the maximum size of chunks, to bound the memory of chunks copied at once. */
+  static final long MAXIMUM_CHUNK = 1 << 24;
+
+  /** the size of segments, a file is mapped by this size because a buffer is up to 2 GB. */
+  static final int SEGMENT = 1 << 30;
+
+  /** the byte order mark in UTF-8. */
+  private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  /** the features which make the commas or brackets in something other than strings meaningless. */
+  private static final JsonParser.Feature[] UNSAFE_FEATURES = {JsonParser.Feature.ALLOW_COMMENTS, JsonParser.Feature.ALLOW_YAML_COMMENTS, JsonParser.Feature.ALLOW_SINGLE_QUOTES, JsonParser.Feature.ALLOW_MISSING_VALUES, JsonParser.Feature.ALLOW_TRAILING_COMMA};
+
+  /**
+   * JSONArraySplitter instances should NOT be constructed in standard programming.
+   */
+  private JSONArraySplitter() {}
+
+  /**
+   * returns true if the input of the factory can be split by this scan, i.e. strict JSON.
+   *
+   * @param factory the factory of parsers.
+   * @return true if the input can be split.
+   */
+  static boolean isSplittable(final JsonFactory factory) {
+    if (factory.getClass() != JsonFactory.class) return false;
+    for (JsonParser.Feature feature : UNSAFE_FEATURES) if (factory.isEnabled(feature)) return false;
+
+    return true;
+  }
+
+  /**
+   * returns the size of chunks for the input, so that the chunks are enough to keep the threads of common pool busy.
+   *
+   * @param length the length of the input.
+   * @return the size of chunks.
+   */
+  static long chunkSize(final long length) {
+    return Math.min(MAXIMUM_CHUNK, Math.max(MINIMUM_CHUNK, length / (ForkJoinPool.getCommonPoolParallelism() * 4L)));
+  }
+
+  /**
+   * returns the segments of the bytes.
+   *
+   * @param bytes the bytes, must not be null.
+   * @return the segments.
+   */
+  static ByteBuffer[] segments(final byte[] bytes) {
+    final ByteBuffer[] segments = new ByteBuffer[Math.max(1, (bytes.length + SEGMENT - 1) / SEGMENT)];
+    for (int i = 0; i < segments.length; i++) segments[i] = ByteBuffer.wrap(bytes, i * SEGMENT, Math.min(SEGMENT, bytes.length - i * SEGMENT)).slice();
+
+    return segments;
+  }
+
+  /**
+   * maps the file into the segments.
+   *
+   * @param path the path of file, must not be null.
+   * @return the segments.
+   * @throws IOException
+   */
+  static ByteBuffer[] segments(final Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      final ByteBuffer[] segments = new ByteBuffer[(int) Math.max(1, (size + SEGMENT - 1) / SEGMENT)];
+      for (int i = 0; i < segments.length; i++) segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, (long) i * SEGMENT, Math.min(SEGMENT, size - (long) i * SEGMENT));
+
+      return segments;
+    }
+  }
+
+  /**
+   * returns a stream which reads the segments in sequence.
+   *
+   * @param segments the segments.
+   * @return the stream.
+   */
+  static InputStream asStream(final ByteBuffer[] segments) {
+    if (segments.length == 1) return new ByteBufferBackedInputStream(segments[0].duplicate());
+    final List<InputStream> streams = new ArrayList<>();
+    for (ByteBuffer segment : segments) streams.add(new ByteBufferBackedInputStream(segment.duplicate()));
+
+    return new SequenceInputStream(Collections.enumeration(streams));
+  }
+
+  /**
+   * returns the ranges of chunks, which contain the top-level elements separated by commas.
+   *
+   * @param segments the segments of JSON, every segment except the last one must be {@link #SEGMENT} bytes.
+   * @param chunkSize the size of chunks, a chunk is cut at the first comma after this size.
+   * @return the pairs of begin (inclusive) and end (exclusive) offsets of chunks, or null if the input is not an array or unbalanced.
+   */
+  static long[] split(final ByteBuffer[] segments, final long chunkSize) {
+    long[] ranges = new long[16];
+    int count = 0;
+    long begin = -1;
+    int depth = 0;
+    boolean string = false;
+    boolean escaped = false;
+    for (int s = 0; s < segments.length; s++) {
+      final ByteBuffer segment = segments[s];
+      final long base = (long) s * SEGMENT;
+      for (int i = 0, limit = segment.limit(); i < limit; i++) {
+        final byte b = segment.get(i);
+        if (string) {
+          if (escaped) escaped = false;
+          else if (b == '\\') escaped = true;
+          else if (b == '"') string = false;
+        } else if (begin < 0) {
+          // before the root.
+          if (b == '[') {
+            begin = base + i + 1;
+            depth = 1;
+          } else if (!isLeading(b, base + i)) {
+            return null;
+          }
+        } else if (b == '"') {
+          string = true;
+        } else if (b == '[' || b == '{') {
+          depth++;
+        } else if (b == ']' || b == '}') {
+          if (--depth > 0) continue;
+          if (count + 2 > ranges.length) ranges = Arrays.copyOf(ranges, ranges.length * 2);
+          ranges[count++] = begin;
+          ranges[count++] = base + i;
+
+          return Arrays.copyOf(ranges, count);
+        } else if (b == ',' && depth == 1 && base + i - begin >= chunkSize) {
+          if (count + 2 > ranges.length) ranges = Arrays.copyOf(ranges, ranges.length * 2);
+          ranges[count++] = begin;
+          ranges[count++] = base + i;
+          begin = base + i + 1;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * copies the chunk into an array, enclosed in brackets.
+   *
+   * @param segments the segments of JSON.
+   * @param begin the offset of the chunk, inclusive.
+   * @param end the offset of the chunk, exclusive.
+   * @return the chunk as a JSON array.
+   */
+  static byte[] copy(final ByteBuffer[] segments, final long begin, final long end) {
+    final byte[] chunk = new byte[(int) (end - begin) + 2];
+    chunk[0] = '[';
+    chunk[chunk.length - 1] = ']';
+    for (long offset = begin; offset < end;) {
+      final ByteBuffer segment = segments[(int) (offset / SEGMENT)].duplicate();
+      final int position = (int) (offset % SEGMENT);
+      final int length = (int) Math.min(end - offset, segment.limit() - position);
+      segment.position(position);
+      segment.get(chunk, (int) (offset - begin) + 1, length);
+      offset += length;
+    }
+
+    return chunk;
+  }
+
+  /**
+   * whitespace, or the byte order mark at the beginning.
+   *
+   * @param b the byte.
+   * @param offset the offset of the byte.
+   * @return true if the byte may precede the root.
+   */
+  private static boolean isLeading(final byte b, final long offset) {
+    return b == ' ' || b == '\t' || b == '\n' || b == '\r' || (offset < BOM.length && b == BOM[(int) offset]);
+  }
+}
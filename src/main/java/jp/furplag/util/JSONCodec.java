@@ -0,0 +1,607 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+
+/**
+ * a typed handle to convert between the specified type and JSON, holds the {@link ObjectReader} and {@link ObjectWriter} prebuilt for the type.
+ * <p>
+ * the root type and the (de)serializers are resolved once, so that the codec should be kept and reused. Codecs are immutable and thread-safe.
+ * </p>
+ *
+ * <pre>
+ * private static final JSONCodec&lt;Entity&gt; CODEC = JSONifier.codec(Entity.class);
+ *
+ * Entity entity = CODEC.parse(json);
+ * String json = CODEC.stringify(entity);
+ * </pre>
+ *
+ * @author furplag
+ * @param <T> the type of values.
+ * @see JSONifier#codec(Class)
+ * @see JSONifier#codec(com.fasterxml.jackson.core.type.TypeReference)
+ */
+public final class JSONCodec<T> {
+
+  /** the builder which has written this size or more is not kept, because the last block grown is kept over calls. */
+  static final int MAXIMUM_BUILDER_SIZE = 8192;
+
+  /** a builder per thread to stringify as bytes, the blocks grown are kept over calls. */
+  static final ThreadLocal<ByteArrayBuilder> BUILDERS = new ThreadLocal<>();
+
+  /** the type of values. */
+  private final JavaType type;
+
+  /** the reader for the type. */
+  private final ObjectReader reader;
+
+  /** the writer for the type. */
+  private final ObjectWriter writer;
+
+  /** the writer for the runtime type of values. */
+  private final ObjectWriter dynamicWriter;
+
+  /** true if the input is strict JSON, which can be split into chunks. */
+  private final boolean splittable;
+
+  /**
+   * @param mapper the mapper to build reader and writer.
+   * @param type the type of values.
+   */
+  JSONCodec(final ObjectMapper mapper, final JavaType type) {
+    this.type = type;
+    reader = mapper.readerFor(type);
+    writer = mapper.writerFor(type);
+    dynamicWriter = mapper.writer();
+    splittable = JSONArraySplitter.isSplittable(mapper.getFactory());
+  }
+
+  /**
+   * returns the type of values.
+   *
+   * @return the type of values.
+   */
+  public JavaType getType() {
+    return type;
+  }
+
+  /**
+   * returns the reader for the type.
+   *
+   * @return {@link ObjectReader}.
+   */
+  public ObjectReader reader() {
+    return reader;
+  }
+
+  /**
+   * returns the writer for the type.
+   *
+   * @return {@link ObjectWriter}.
+   */
+  public ObjectWriter writer() {
+    return writer;
+  }
+
+  /**
+   * create the instance represented by the JSON String. Throw exceptions if convert has failed.
+   *
+   * @param str JSON String, may be null.
+   * @return the instance, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public T parse(final String str) throws JsonParseException, JsonMappingException, IOException {
+    return str == null ? null : reader.readValue(str);
+  }
+
+  /**
+   * create the instance represented by the JSON encoded in UTF-8 (or UTF-16, UTF-32 detected automatically). Throw exceptions if convert has failed.
+   *
+   * @param bytes JSON bytes, may be null.
+   * @return the instance, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public T parse(final byte[] bytes) throws JsonParseException, JsonMappingException, IOException {
+    return bytes == null ? null : reader.readValue(bytes);
+  }
+
+  /**
+   * create the instance represented by the JSON read from the stream. Throw exceptions if convert has failed.
+   * <p>
+   * the stream is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @return the instance, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public T parse(final InputStream in) throws JsonParseException, JsonMappingException, IOException {
+    return in == null ? null : reader.readValue(in);
+  }
+
+  /**
+   * create the instance represented by the JSON read from the reader. Throw exceptions if convert has failed.
+   * <p>
+   * the reader is not closed.
+   * </p>
+   *
+   * @param source the reader of JSON, may be null.
+   * @return the instance, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public T parse(final Reader source) throws JsonParseException, JsonMappingException, IOException {
+    return source == null ? null : reader.readValue(source);
+  }
+
+  /**
+   * create the instance represented by the remaining bytes of the buffer. Throw exceptions if convert has failed.
+   * <p>
+   * the position of the buffer is not changed. Heap buffers are read in place, and direct (or mapped) buffers are read without copying into a String.
+   * </p>
+   *
+   * @param buffer JSON bytes, may be null.
+   * @return the instance, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public T parse(final ByteBuffer buffer) throws JsonParseException, JsonMappingException, IOException {
+    if (buffer == null) return null;
+    if (buffer.hasArray()) return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+
+    return reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+  }
+
+  /**
+   * create the instance represented by the JSON file. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory, so that a large file is read without buffering the whole text as a String.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @return the instance, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public T parse(final Path path) throws JsonParseException, JsonMappingException, IOException {
+    if (path == null) return null;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        try (InputStream in = Files.newInputStream(path)) {
+          return parse(in);
+        }
+      }
+
+      return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * create the list of values represented by the elements of a large JSON array, the elements are bound in parallel. Throw exceptions if convert has failed.
+   * <p>
+   * the bytes are scanned once for the boundaries of the top-level elements, and the chunks of elements are bound in {@link java.util.concurrent.ForkJoinPool#commonPool()}. The input smaller than 1 MB, the input which is not an array and the formats other than strict JSON are read sequentially, as same as {@link #iterate(InputStream)}. The location of errors is relative to the chunk.
+   * </p>
+   *
+   * @param bytes JSON array encoded in UTF-8, may be null.
+   * @return the values in order, return empty if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public List<T> parseParallel(final byte[] bytes) throws JsonParseException, JsonMappingException, IOException {
+    if (bytes == null) return new ArrayList<>();
+
+    return parseParallel(JSONArraySplitter.segments(bytes), bytes.length);
+  }
+
+  /**
+   * create the list of values represented by the elements of a large JSON array file, the elements are bound in parallel. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory (by 1 GB segments, so that the file may be larger than 2 GB), and only the chunks being bound are copied.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @return the values in order, return empty if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @see #parseParallel(byte[])
+   */
+  public List<T> parseParallel(final Path path) throws JsonParseException, JsonMappingException, IOException {
+    if (path == null) return new ArrayList<>();
+
+    return parseParallel(JSONArraySplitter.segments(path), Files.size(path));
+  }
+
+  /**
+   * returns the unordered parallel stream of values represented by the elements of a large JSON array, the elements are bound lazily by the terminal operation.
+   * <p>
+   * the exceptions in binding are thrown as {@link UncheckedIOException} by the terminal operation.
+   * </p>
+   *
+   * @param bytes JSON array encoded in UTF-8, may be null.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #parseParallel(byte[])
+   */
+  public Stream<T> streamParallel(final byte[] bytes) throws JsonParseException, IOException {
+    if (bytes == null) return Stream.empty();
+
+    return streamParallel(JSONArraySplitter.segments(bytes), bytes.length);
+  }
+
+  /**
+   * returns the unordered parallel stream of values represented by the elements of a large JSON array file, the elements are bound lazily by the terminal operation.
+   * <p>
+   * the exceptions in binding are thrown as {@link UncheckedIOException} by the terminal operation.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #parseParallel(Path)
+   */
+  public Stream<T> streamParallel(final Path path) throws JsonParseException, IOException {
+    if (path == null) return Stream.empty();
+
+    return streamParallel(JSONArraySplitter.segments(path), Files.size(path));
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the stream.
+   *
+   * @param in the stream of JSON, may be null.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see JSONifier#iterate(InputStream, Class)
+   */
+  public MappingIterator<T> iterate(final InputStream in) throws JsonParseException, IOException {
+    return in == null ? reader.<T>readValues(new byte[0]) : reader.readValues(in);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the reader.
+   *
+   * @param source the reader of JSON, may be null.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see JSONifier#iterate(InputStream, Class)
+   */
+  public MappingIterator<T> iterate(final Reader source) throws JsonParseException, IOException {
+    return source == null ? reader.<T>readValues(new byte[0]) : reader.readValues(source);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the stream.
+   *
+   * @param in the stream of JSON, may be null.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see JSONifier#stream(InputStream, Class)
+   */
+  public Stream<T> stream(final InputStream in) throws JsonParseException, IOException {
+    return toStream(iterate(in));
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the reader.
+   *
+   * @param source the reader of JSON, may be null.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see JSONifier#stream(InputStream, Class)
+   */
+  public Stream<T> stream(final Reader source) throws JsonParseException, IOException {
+    return toStream(iterate(source));
+  }
+
+  /**
+   * stringify specified value. Throw exceptions if stringify has failed.
+   *
+   * @param value the value, may be null.
+   * @return JSON String.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public String stringify(final T value) throws JsonGenerationException, JsonMappingException, IOException {
+    return writerOf(value).writeValueAsString(value);
+  }
+
+  /**
+   * stringify specified value as JSON encoded in UTF-8. Throw exceptions if stringify has failed.
+   *
+   * @param value the value, may be null.
+   * @return JSON bytes.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public byte[] stringifyAsBytes(final T value) throws JsonGenerationException, JsonMappingException, IOException {
+    return toBytes(writerOf(value), value);
+  }
+
+  /**
+   * write specified value as JSON encoded in UTF-8 to the stream. Throw exceptions if stringify has failed.
+   * <p>
+   * the stream is flushed, but not closed.
+   * </p>
+   *
+   * @param value the value, may be null.
+   * @param out the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public void stringify(final T value, final OutputStream out) throws JsonGenerationException, JsonMappingException, IOException {
+    writerOf(value).writeValue(out, value);
+  }
+
+  /**
+   * write specified value as JSON to the writer. Throw exceptions if stringify has failed.
+   * <p>
+   * the writer is flushed, but not closed.
+   * </p>
+   *
+   * @param value the value, may be null.
+   * @param destination the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public void stringify(final T value, final Writer destination) throws JsonGenerationException, JsonMappingException, IOException {
+    writerOf(value).writeValue(destination, value);
+  }
+
+  /**
+   * write specified value as JSON encoded in UTF-8 to the buffer, from the current position. Throw exceptions if stringify has failed.
+   *
+   * @param value the value, may be null.
+   * @param buffer the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the buffer is not enough.
+   */
+  public void stringify(final T value, final ByteBuffer buffer) throws JsonGenerationException, JsonMappingException, IOException {
+    writeTo(value, buffer);
+  }
+
+  /**
+   * write specified value as JSON encoded in UTF-8 to the buffer, from the current position. Throw exceptions if stringify has failed.
+   * <p>
+   * the bytes are generated into the buffer directly (heap or direct), without an intermediate String or array. If failed, the position of the buffer is restored.
+   * </p>
+   *
+   * @param value the value, may be null.
+   * @param buffer the destination, must not be null.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the buffer is not enough.
+   */
+  public int writeTo(final T value, final ByteBuffer buffer) throws JsonGenerationException, JsonMappingException, IOException {
+    return writeTo(writerOf(value), value, buffer);
+  }
+
+  /**
+   * write specified value as JSON encoded in UTF-8 to the array, from the specified offset. Throw exceptions if stringify has failed.
+   *
+   * @param value the value, may be null.
+   * @param bytes the destination, must not be null.
+   * @param offset the index of the array to start writing.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the array is not enough.
+   */
+  public int writeTo(final T value, final byte[] bytes, final int offset) throws JsonGenerationException, JsonMappingException, IOException {
+    return writeTo(value, ByteBuffer.wrap(bytes, offset, bytes.length - offset));
+  }
+
+  /**
+   * append specified value as JSON encoded in UTF-8 to the builder, so that the caller can reuse the builder by {@link ByteArrayBuilder#reset()}. Throw exceptions if stringify has failed.
+   *
+   * @param value the value, may be null.
+   * @param builder the destination, must not be null.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public int writeTo(final T value, final ByteArrayBuilder builder) throws JsonGenerationException, JsonMappingException, IOException {
+    final int size = builder.size();
+    writerOf(value).writeValue(builder, value);
+
+    return builder.size() - size;
+  }
+
+  @Override
+  public String toString() {
+    return "JSONCodec[" + type + "]";
+  }
+
+  /**
+   * the typed writer serializes the value as the type (e.g. the properties of subclasses are ignored), so that use it only if the value is exactly the type or a container.
+   *
+   * @param value the value.
+   * @return the writer.
+   */
+  private ObjectWriter writerOf(final Object value) {
+    return value == null || value.getClass() == type.getRawClass() || type.isContainerType() ? writer : dynamicWriter;
+  }
+
+  /**
+   * write the value to the buffer, and restore the position of the buffer if failed.
+   *
+   * @param writer the writer.
+   * @param value the value, may be null.
+   * @param buffer the destination, must not be null.
+   * @return the number of bytes written.
+   * @throws IOException
+   */
+  static int writeTo(final ObjectWriter writer, final Object value, final ByteBuffer buffer) throws IOException {
+    final int position = buffer.position();
+    try {
+      writer.writeValue(new ByteBufferBackedOutputStream(buffer), value);
+    } catch (IOException | RuntimeException e) {
+      buffer.position(position);
+      throw e;
+    }
+
+    return buffer.position() - position;
+  }
+
+  /**
+   * stringify the value into the builder of current thread, and returns the copy of the bytes.
+   * <p>
+   * the builder is taken from the thread while in use, so that a nested call (e.g. in a custom serializer) uses a new one. The builder is returned to the thread only if
+   * the bytes are smaller than {@link #MAXIMUM_BUILDER_SIZE}, otherwise dropped.
+   * </p>
+   *
+   * @param writer the writer.
+   * @param value the value, may be null.
+   * @return the bytes.
+   * @throws IOException
+   */
+  static byte[] toBytes(final ObjectWriter writer, final Object value) throws IOException {
+    ByteArrayBuilder builder = BUILDERS.get();
+    if (builder == null) builder = new ByteArrayBuilder();
+    else BUILDERS.set(null);
+    int size = MAXIMUM_BUILDER_SIZE;
+    try {
+      writer.writeValue(builder, value);
+      size = builder.size();
+
+      return builder.toByteArray();
+    } finally {
+      if (size < MAXIMUM_BUILDER_SIZE) {
+        builder.reset();
+        BUILDERS.set(builder);
+      }
+    }
+  }
+
+  private List<T> parseParallel(final ByteBuffer[] segments, final long length) throws IOException {
+    final long[] ranges = split(segments, length);
+    if (ranges == null) {
+      try (MappingIterator<T> iterator = reader.readValues(JSONArraySplitter.asStream(segments))) {
+        return iterator.readAll();
+      }
+    }
+    final List<List<T>> chunks = new ArrayList<>(Collections.nCopies(ranges.length / 2, null));
+    try {
+      IntStream.range(0, chunks.size()).parallel().forEach((i) -> chunks.set(i, bind(segments, ranges, i)));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    final List<T> values = new ArrayList<>();
+    for (List<T> chunk : chunks) values.addAll(chunk);
+
+    return values;
+  }
+
+  private Stream<T> streamParallel(final ByteBuffer[] segments, final long length) throws IOException {
+    final long[] ranges = split(segments, length);
+    if (ranges == null) return toStream(reader.readValues(JSONArraySplitter.asStream(segments)));
+
+    return IntStream.range(0, ranges.length / 2).parallel().unordered().mapToObj((i) -> bind(segments, ranges, i)).flatMap(List::stream);
+  }
+
+  /**
+   * returns the ranges of chunks, or null if the input should be read sequentially.
+   *
+   * @param segments the segments of JSON.
+   * @param length the length of JSON.
+   * @return the ranges of chunks, or null.
+   */
+  private long[] split(final ByteBuffer[] segments, final long length) {
+    return !splittable || length < JSONArraySplitter.THRESHOLD ? null : JSONArraySplitter.split(segments, JSONArraySplitter.chunkSize(length));
+  }
+
+  /**
+   * binds the elements in the chunk.
+   *
+   * @param segments the segments of JSON.
+   * @param ranges the ranges of chunks.
+   * @param index the index of the chunk.
+   * @return the values.
+   * @throws UncheckedIOException if convert has failed.
+   */
+  private List<T> bind(final ByteBuffer[] segments, final long[] ranges, final int index) {
+    try (MappingIterator<T> iterator = reader.readValues(JSONArraySplitter.copy(segments, ranges[index * 2], ranges[index * 2 + 1]))) {
+      return iterator.readAll();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static <T> Stream<T> toStream(final MappingIterator<T> iterator) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false).onClose(() -> {
+      try {
+        iterator.close();
+      } catch (IOException e) {}
+    });
+  }
+}
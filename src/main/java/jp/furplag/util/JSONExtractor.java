@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * extracts the values at the JSON Pointers (RFC 6901) from the stream of tokens, without binding the whole document.
+ * <p>
+ * the subtrees which no pointers point into are skipped, and the walk stops as soon as all pointers are resolved. Only the values at the pointers are bound to the type.
+ * </p>
+ *
+ * @author furplag
+ * @param <T> the type of values.
+ */
+final class JSONExtractor<T> {
+
+  /** the codec to bind the values. */
+  private final JSONCodec<T> codec;
+
+  /** the values, by the index of pointers. */
+  private final Object[] values;
+
+  /** the pointers which the value is found. */
+  private final boolean[] found;
+
+  /** the pointers which the value is found, or never be found because the subtree is passed. */
+  private final boolean[] settled;
+
+  /** the number of pointers not settled yet. */
+  private int remaining;
+
+  private JSONExtractor(final JSONCodec<T> codec, final int size) {
+    this.codec = codec;
+    this.values = new Object[size];
+    this.found = new boolean[size];
+    this.settled = new boolean[size];
+    this.remaining = size;
+  }
+
+  /**
+   * returns the values at the pointers, in the order of the pointers.
+   *
+   * @param parser the parser, must not be null.
+   * @param codec the codec to bind the values, must not be null.
+   * @param jsonPointers JSON Pointers, null elements are ignored.
+   * @return the values found, the pointers which do not exist are not contained.
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> Map<String, T> extract(final JsonParser parser, final JSONCodec<T> codec, final String... jsonPointers) throws IOException {
+    final Set<String> keys = new LinkedHashSet<>();
+    if (jsonPointers != null) for (String jsonPointer : jsonPointers) if (jsonPointer != null) keys.add(jsonPointer);
+    final Map<String, T> results = new LinkedHashMap<>();
+    if (keys.isEmpty()) return results;
+    final int[] candidates = new int[keys.size()];
+    final JsonPointer[] tails = new JsonPointer[keys.size()];
+    int index = 0;
+    for (String key : keys) {
+      candidates[index] = index;
+      tails[index++] = JsonPointer.compile(key);
+    }
+    final JSONExtractor<T> extractor = new JSONExtractor<>(codec, keys.size());
+    if (parser.nextToken() != null) extractor.walk(parser, candidates, tails);
+    index = 0;
+    for (String key : keys) {
+      if (extractor.found[index]) results.put(key, (T) extractor.values[index]);
+      index++;
+    }
+
+    return results;
+  }
+
+  /**
+   * walks the value at the current token.
+   *
+   * @param parser the parser, at the first token of the value.
+   * @param candidates the index of pointers which point into the value.
+   * @param tails the rest of the pointers, relative to the value.
+   * @throws IOException
+   */
+  private void walk(final JsonParser parser, final int[] candidates, final JsonPointer[] tails) throws IOException {
+    boolean exact = false;
+    boolean nested = false;
+    for (JsonPointer tail : tails) {
+      if (tail.matches()) exact = true;
+      else nested = true;
+    }
+    if (exact) {
+      bind(parser, candidates, tails, nested);
+    } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String name = parser.getCurrentName();
+        parser.nextToken();
+        descend(parser, candidates, tails, name, -1);
+        if (remaining < 1) return;
+      }
+    } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+      for (int index = 0; !parser.nextToken().isStructEnd(); index++) {
+        descend(parser, candidates, tails, null, index);
+        if (remaining < 1) return;
+      }
+    }
+  }
+
+  /**
+   * walks the member of an object or the element of an array, or skips it if no pointers point into it.
+   *
+   * @param parser the parser, at the first token of the value.
+   * @param candidates the index of pointers which point into the container.
+   * @param tails the rest of the pointers, relative to the container.
+   * @param name the name of the member, or null if the value is an element.
+   * @param index the index of the element.
+   * @throws IOException
+   */
+  private void descend(final JsonParser parser, final int[] candidates, final JsonPointer[] tails, final String name, final int index) throws IOException {
+    int count = 0;
+    for (int i = 0; i < tails.length; i++) if (matches(candidates[i], tails[i], name, index)) count++;
+    if (count < 1) {
+      parser.skipChildren();
+
+      return;
+    }
+    final int[] subCandidates = new int[count];
+    final JsonPointer[] subTails = new JsonPointer[count];
+    for (int i = 0, j = 0; i < tails.length; i++) {
+      if (!matches(candidates[i], tails[i], name, index)) continue;
+      subCandidates[j] = candidates[i];
+      subTails[j++] = tails[i].tail();
+    }
+    walk(parser, subCandidates, subTails);
+    for (int candidate : subCandidates) settle(candidate);
+  }
+
+  /**
+   * binds the value, or reads it as a tree if some pointers point into the value.
+   *
+   * @param parser the parser, at the first token of the value.
+   * @param candidates the index of pointers which point to, or into the value.
+   * @param tails the rest of the pointers, relative to the value.
+   * @param nested true if some pointers point into the value.
+   * @throws IOException
+   */
+  private void bind(final JsonParser parser, final int[] candidates, final JsonPointer[] tails, final boolean nested) throws IOException {
+    if (!nested) {
+      final T value = codec.reader().readValue(parser);
+      for (int candidate : candidates) resolve(candidate, value);
+
+      return;
+    }
+    final JsonNode tree = codec.reader().readTree(parser);
+    for (int i = 0; i < candidates.length; i++) {
+      final JsonNode node = tree.at(tails[i]);
+      if (node.isMissingNode()) settle(candidates[i]);
+      else resolve(candidates[i], codec.reader().readValue(node));
+    }
+  }
+
+  private void resolve(final int candidate, final Object value) {
+    values[candidate] = value;
+    found[candidate] = true;
+    settle(candidate);
+  }
+
+  private void settle(final int candidate) {
+    if (settled[candidate]) return;
+    settled[candidate] = true;
+    remaining--;
+  }
+
+  /**
+   * returns true if the pointer points into the member or the element, and not settled (the first one wins if the names are duplicated).
+   *
+   * @param candidate the index of the pointer.
+   * @param tail the rest of the pointer.
+   * @param name the name of the member, or null if the value is an element.
+   * @param index the index of the element.
+   * @return true if the pointer points into the value.
+   */
+  private boolean matches(final int candidate, final JsonPointer tail, final String name, final int index) {
+    return !settled[candidate] && (name == null ? tail.getMatchingIndex() == index : name.equals(tail.getMatchingProperty()));
+  }
+}
@@ -0,0 +1,1311 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import jp.furplag.util.commons.ClassUtils;
+import jp.furplag.util.commons.ObjectUtils;
+
+/**
+ * an immutable converter between Object and JSON, configured by {@link Builder}.
+ * <p>
+ * each instance has its own {@link ObjectMapper} and the cache of {@link JSONCodec}, the codecs of registered types are created at build time, so that the first conversion of the types does not resolve (de)serializers.
+ * </p>
+ *
+ * <pre>
+ * JSONMapper wire = JSONMapper.builder(JSONMapper.Profile.COMPACT).warmUp(Entity.class, Order.class).build();
+ * JSONMapper ingest = JSONMapper.builder(JSONMapper.Profile.LENIENT).build();
+ * JSONMapper internal = JSONMapper.builder(JSONMapper.Profile.CBOR).build();
+ *
+ * String json = wire.stringify(entity);
+ * Entity entity = ingest.parseLazy(json, Entity.class);
+ * </pre>
+ *
+ * @author furplag
+ * @see JSONifier
+ */
+public final class JSONMapper {
+
+  /**
+   * the presets of {@link Builder}.
+   */
+  public enum Profile {
+    /** same as {@link JSONifier}, ignore unknown properties, and ISO format for {@link LocalDate} and {@link LocalDateTime}. */
+    DEFAULT,
+    /** for the wire, null properties are omitted. */
+    COMPACT,
+    /** for ingest, accepts comments, single quotes, unquoted field names, NaN, leading zeros, and a single value as an array. */
+    LENIENT,
+    /** binary format CBOR (RFC 7049), read and write bytes or streams, the methods of String throw {@link IllegalStateException}. */
+    CBOR,
+    /** binary format Smile, read and write bytes or streams, the methods of String throw {@link IllegalStateException}. */
+    SMILE;
+  }
+
+  /** the suppliers of empty instances for each type, the fallback of parseLazy. */
+  private static final Map<Type, Supplier<?>> EMPTY_INSTANCES = new ConcurrentHashMap<>();
+
+  /** the failure of the methods of String in binary format. */
+  private static final String TEXT_UNSUPPORTED = "the methods of String are not supported in binary format, use the methods of bytes or streams.";
+
+  /** the features of parser enabled in {@link Profile#LENIENT}. */
+  private static final JsonParser.Feature[] LENIENT_FEATURES = {JsonParser.Feature.ALLOW_COMMENTS, JsonParser.Feature.ALLOW_YAML_COMMENTS, JsonParser.Feature.ALLOW_SINGLE_QUOTES, JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS, JsonParser.Feature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER, JsonParser.Feature.ALLOW_NUMERIC_LEADING_ZEROS, JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS};
+
+  /** the mapper, never modified after build. */
+  private final ObjectMapper mapper;
+
+  /** if true, the syntax of JSON String is validated before parsing. */
+  private final boolean prescan;
+
+  /** if true, the format is binary, the methods of String are not supported. */
+  private final boolean binary;
+
+  /** the maximum number of writers to keep for the runtime classes of objects. */
+  static final int MAXIMUM_WRITERS = 256;
+
+  /** the codecs for each type. */
+  private final Map<Type, JSONCodec<?>> codecs = new ConcurrentHashMap<>();
+
+  /** the writers for the runtime classes of objects to stringify, least recently used writers are evicted. */
+  // @formatter:off
+  final Cache<Class<?>, ObjectWriter> writers =
+    CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_WRITERS)
+      .build();
+  // @formatter:on
+
+  /** the classes which could not be serialized by definition, stringifyLazy returns "null" without trying. */
+  private final Set<Class<?>> unserializable = ConcurrentHashMap.newKeySet();
+
+  private JSONMapper(final Builder builder) {
+    // @formatter:off
+    final ObjectMapper mapper =
+      new ObjectMapper(builder.factory == null ? new JsonFactory() : builder.factory.copy())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, builder.failOnUnknownProperties)
+        .configure(SerializationFeature.INDENT_OUTPUT, builder.indent)
+        .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)
+        .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+        .setSerializationInclusion(builder.serializationInclusion)
+        .registerModules(
+          new JavaTimeModule()
+          .addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+          .addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+          .addSerializer(LocalDate.class, new LocalDateSerializer(DateTimeFormatter.ISO_LOCAL_DATE))
+          .addDeserializer(LocalDate.class, new LocalDateDeserializer(DateTimeFormatter.ISO_LOCAL_DATE))
+        )
+      ;
+    // @formatter:on
+    if (builder.lenient) {
+      for (JsonParser.Feature feature : LENIENT_FEATURES) mapper.configure(feature, true);
+      mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+      mapper.configure(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT, true);
+      mapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+    }
+    if (builder.afterburner && isAfterburnerAvailable()) mapper.registerModule(new AfterburnerModule());
+    mapper.registerModules(builder.modules);
+    this.mapper = mapper;
+    prescan = JSONScanner.isApplicable(mapper.getFactory());
+    binary = mapper.getFactory().canHandleBinaryNatively();
+    for (Type type : builder.warmUp) codec(type);
+  }
+
+  /**
+   * returns true if the format is binary (e.g. CBOR, Smile), the methods of String, {@link Reader} and {@link Writer} throw {@link IllegalStateException}, and tryParse returns a failure.
+   *
+   * @return true if the format is binary.
+   */
+  public boolean isBinary() {
+    return binary;
+  }
+
+  /**
+   * fails fast in binary format, instead of the {@link UnsupportedOperationException} of the parser or the generator.
+   *
+   * @throws IllegalStateException if the format is binary.
+   */
+  private void requireText() {
+    if (binary) throw new IllegalStateException(TEXT_UNSUPPORTED);
+  }
+
+  /**
+   * returns the mapper, must not be modified.
+   *
+   * @return {@link ObjectMapper}.
+   */
+  ObjectMapper mapper() {
+    return mapper;
+  }
+
+  /**
+   * returns a new builder, configured as {@link Profile#DEFAULT}.
+   *
+   * @return {@link Builder}.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * returns a new builder, configured as specified profile.
+   *
+   * @param profile {@link Profile}, use {@link Profile#DEFAULT} if null.
+   * @return {@link Builder}.
+   */
+  public static Builder builder(final Profile profile) {
+    final Builder builder = new Builder();
+    if (profile == Profile.COMPACT) builder.serializationInclusion(JsonInclude.Include.NON_NULL);
+    if (profile == Profile.LENIENT) builder.lenient(true);
+    if (profile == Profile.CBOR) builder.factory(new CBORFactory());
+    if (profile == Profile.SMILE) builder.factory(new SmileFactory());
+
+    return builder;
+  }
+
+  /**
+   * returns true if {@link AfterburnerModule} is able to define the accessors in the class loader of beans, otherwise the accessors fail to access non-public beans.
+   *
+   * @return true if {@code ClassLoader#defineClass} is accessible.
+   */
+  static boolean isAfterburnerAvailable() {
+    try {
+      ClassLoader.class.getDeclaredMethod("defineClass", String.class, byte[].class, int.class, int.class).setAccessible(true);
+
+      return true;
+    } catch (Exception e) {}
+
+    return false;
+  }
+
+  /**
+   * the builder of {@link JSONMapper}, not thread-safe.
+   */
+  public static final class Builder {
+
+    private JsonFactory factory;
+
+    private boolean failOnUnknownProperties;
+
+    private boolean lenient;
+
+    private boolean indent;
+
+    private JsonInclude.Include serializationInclusion = JsonInclude.Include.USE_DEFAULTS;
+
+    private boolean afterburner = Boolean.getBoolean(JSONifier.AFTERBURNER);
+
+    private final List<Module> modules = new ArrayList<>();
+
+    private final Set<Type> warmUp = new LinkedHashSet<>();
+
+    private Builder() {}
+
+    /**
+     * the factory of parsers and generators, e.g. the factories of binary formats.
+     *
+     * @param factory {@link JsonFactory}, use the factory of JSON if null.
+     * @return this builder.
+     */
+    public Builder factory(final JsonFactory factory) {
+      this.factory = factory;
+
+      return this;
+    }
+
+    /**
+     * if true, fail to parse if unknown properties exist. Default is false.
+     *
+     * @param failOnUnknownProperties if true, fail to parse if unknown properties exist.
+     * @return this builder.
+     */
+    public Builder failOnUnknownProperties(final boolean failOnUnknownProperties) {
+      this.failOnUnknownProperties = failOnUnknownProperties;
+
+      return this;
+    }
+
+    /**
+     * if true, accepts the non-standard JSON. Default is false.
+     *
+     * @param lenient if true, accepts the non-standard JSON.
+     * @return this builder.
+     * @see Profile#LENIENT
+     */
+    public Builder lenient(final boolean lenient) {
+      this.lenient = lenient;
+
+      return this;
+    }
+
+    /**
+     * if true, output JSON is indented. Default is false.
+     *
+     * @param indent if true, output JSON is indented.
+     * @return this builder.
+     */
+    public Builder indent(final boolean indent) {
+      this.indent = indent;
+
+      return this;
+    }
+
+    /**
+     * the properties to be included in output. Default includes all.
+     *
+     * @param serializationInclusion {@link JsonInclude.Include}, use default if null.
+     * @return this builder.
+     */
+    public Builder serializationInclusion(final JsonInclude.Include serializationInclusion) {
+      this.serializationInclusion = serializationInclusion == null ? JsonInclude.Include.USE_DEFAULTS : serializationInclusion;
+
+      return this;
+    }
+
+    /**
+     * if true, use generated accessors instead of reflection. Default is the value of system property {@link JSONifier#AFTERBURNER}.
+     *
+     * @param afterburner if true, use generated accessors instead of reflection.
+     * @return this builder.
+     * @see JSONifier#AFTERBURNER
+     */
+    public Builder afterburner(final boolean afterburner) {
+      this.afterburner = afterburner;
+
+      return this;
+    }
+
+    /**
+     * add modules of Jackson.
+     *
+     * @param modules modules, null elements are ignored.
+     * @return this builder.
+     */
+    public Builder modules(final Module... modules) {
+      if (modules != null) for (Module module : modules) if (module != null) this.modules.add(module);
+
+      return this;
+    }
+
+    /**
+     * add types which (de)serializers are resolved at build time.
+     *
+     * @param types classes, null elements are ignored.
+     * @return this builder.
+     */
+    public Builder warmUp(final Class<?>... types) {
+      if (types != null) for (Class<?> type : types) if (type != null) warmUp.add(type);
+
+      return this;
+    }
+
+    /**
+     * add types which (de)serializers are resolved at build time.
+     *
+     * @param typeRefs {@link com.fasterxml.jackson.core.type.TypeReference}, null elements are ignored.
+     * @return this builder.
+     */
+    public Builder warmUp(final TypeReference<?>... typeRefs) {
+      if (typeRefs != null) for (TypeReference<?> typeRef : typeRefs) if (typeRef != null) warmUp.add(typeRef.getType());
+
+      return this;
+    }
+
+    /**
+     * returns a new immutable {@link JSONMapper}.
+     *
+     * @return {@link JSONMapper}.
+     */
+    public JSONMapper build() {
+      return new JSONMapper(this);
+    }
+  }
+
+  /**
+   * returns the codec for specified class, the codec is created at first time and cached.
+   *
+   * <pre>
+   * private static final JSONCodec&lt;Entity&gt; CODEC = MAPPER.codec(Entity.class);
+   * </pre>
+   *
+   * @param type the class of values, must not be null.
+   * @return {@link JSONCodec}.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> JSONCodec<T> codec(final Class<T> type) {
+    return (JSONCodec<T>) codec((Type) type);
+  }
+
+  /**
+   * returns the codec for specified type, the codec is created at first time and cached.
+   *
+   * <pre>
+   * private static final JSONCodec&lt;Map&lt;String, List&lt;Entity&gt;&gt;&gt; CODEC = MAPPER.codec(new TypeReference&lt;Map&lt;String, List&lt;Entity&gt;&gt;&gt;() {});
+   * </pre>
+   *
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}, must not be null.
+   * @return {@link JSONCodec}.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> JSONCodec<T> codec(final TypeReference<T> typeRef) {
+    return (JSONCodec<T>) codec(typeRef.getType());
+  }
+
+  private JSONCodec<?> codec(final Type type) {
+    JSONCodec<?> codec = codecs.get(type);
+    if (codec == null) {
+      codec = new JSONCodec<>(mapper, mapper.getTypeFactory().constructType(type));
+      final JSONCodec<?> cached = codecs.putIfAbsent(type, codec);
+      if (cached != null) codec = cached;
+    }
+
+    return codec;
+  }
+
+  /**
+   * the writer for the runtime type of the object.
+   * <p>
+   * the writers of anonymous, local and synthetic (e.g. lambda) classes are not cached, the serializers are cached by {@link ObjectMapper} anyway.
+   * </p>
+   *
+   * @param o an Object, may be null.
+   * @return the writer.
+   */
+  private ObjectWriter writerOf(final Object o) {
+    if (o == null) return mapper.writer();
+    final Class<?> type = o.getClass();
+    if (type.isAnonymousClass() || type.isLocalClass() || type.isSynthetic()) return mapper.writer();
+    ObjectWriter writer = writers.getIfPresent(type);
+    if (writer == null) {
+      writer = mapper.writerFor(type);
+      writers.put(type, writer);
+    }
+
+    return writer;
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String. Throw exceptions if convert has failed.
+   *
+   * @param str JSON String.
+   * @param type destination Class.
+   * @return the instance of specified Class.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T parse(final String str, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    requireText();
+    if (str == null) return type == null ? null : type.isPrimitive() ? codec(type).parse("") : null;
+
+    return codec(type).parse(str);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String. Throw exceptions if convert has failed.
+   *
+   * @param str JSON String.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T parse(final String str, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    requireText();
+    if (str != null && typeRef != null) return codec(typeRef).parse(str);
+
+    return null;
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the stream. Throw exceptions if convert has failed.
+   * <p>
+   * the stream is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseStream(final InputStream in, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    if (in == null || type == null) return null;
+
+    return codec(type).parse(in);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the stream. Throw exceptions if convert has failed.
+   * <p>
+   * the stream is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseStream(final InputStream in, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    if (in == null || typeRef == null) return null;
+
+    return codec(typeRef).parse(in);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the reader. Throw exceptions if convert has failed.
+   * <p>
+   * the reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T parseReader(final Reader reader, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    requireText();
+    if (reader == null || type == null) return null;
+
+    return codec(type).parse(reader);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the reader. Throw exceptions if convert has failed.
+   * <p>
+   * the reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T parseReader(final Reader reader, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    requireText();
+    if (reader == null || typeRef == null) return null;
+
+    return codec(typeRef).parse(reader);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON encoded in UTF-8 (or UTF-16, UTF-32 detected automatically). Throw exceptions if convert has failed.
+   *
+   * @param bytes JSON bytes, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseBytes(final byte[] bytes, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    if (bytes == null || type == null) return null;
+
+    return codec(type).parse(bytes);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON encoded in UTF-8 (or UTF-16, UTF-32 detected automatically). Throw exceptions if convert has failed.
+   *
+   * @param bytes JSON bytes, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseBytes(final byte[] bytes, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    if (bytes == null || typeRef == null) return null;
+
+    return codec(typeRef).parse(bytes);
+  }
+
+  /**
+   * create the instance of specified class represented by the remaining bytes of the buffer. Throw exceptions if convert has failed.
+   * <p>
+   * the position of the buffer is not changed. Heap buffers are read in place, and direct (or mapped) buffers are read without copying into a String.
+   * </p>
+   *
+   * @param buffer JSON bytes, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseBuffer(final ByteBuffer buffer, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    if (buffer == null || type == null) return null;
+
+    return codec(type).parse(buffer);
+  }
+
+  /**
+   * create the instance of specified class represented by the remaining bytes of the buffer. Throw exceptions if convert has failed.
+   * <p>
+   * the position of the buffer is not changed. Heap buffers are read in place, and direct (or mapped) buffers are read without copying into a String.
+   * </p>
+   *
+   * @param buffer JSON bytes, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseBuffer(final ByteBuffer buffer, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    if (buffer == null || typeRef == null) return null;
+
+    return codec(typeRef).parse(buffer);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON file. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory, so that a large file is read without buffering the whole text as a String.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseFile(final Path path, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    if (path == null || type == null) return null;
+
+    return codec(type).parse(path);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON file. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory, so that a large file is read without buffering the whole text as a String.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> T parseFile(final Path path, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    if (path == null || typeRef == null) return null;
+
+    return codec(typeRef).parse(path);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the stream, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The stream is not closed.
+   * </p>
+   *
+   * <pre>
+   * try (MappingIterator&lt;Entity&gt; it = MAPPER.iterate(in, Entity.class)) {
+   *   while (it.hasNext()) process(it.next());
+   * }
+   * </pre>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   */
+  public <T> MappingIterator<T> iterate(final InputStream in, final Class<T> type) throws JsonParseException, IOException {
+    if (type == null) return codec(Object.class).reader().readValues(new byte[0]);
+
+    return codec(type).iterate(in);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the stream, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The stream is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   */
+  public <T> MappingIterator<T> iterate(final InputStream in, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    if (typeRef == null) return codec(Object.class).reader().readValues(new byte[0]);
+
+    return codec(typeRef).iterate(in);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the reader, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> MappingIterator<T> iterate(final Reader reader, final Class<T> type) throws JsonParseException, IOException {
+    requireText();
+    if (type == null) return codec(Object.class).reader().readValues(new byte[0]);
+
+    return codec(type).iterate(reader);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the reader, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> MappingIterator<T> iterate(final Reader reader, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    requireText();
+    if (typeRef == null) return codec(Object.class).reader().readValues(new byte[0]);
+
+    return codec(typeRef).iterate(reader);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the stream.
+   * <p>
+   * the elements are streamed if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are streamed. Errors while decoding are thrown as {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException}. Closing the returned stream releases the parser, but the stream of JSON is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #iterate(InputStream, Class)
+   */
+  public <T> Stream<T> stream(final InputStream in, final Class<T> type) throws JsonParseException, IOException {
+    if (type == null) return Stream.empty();
+
+    return codec(type).stream(in);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the stream.
+   *
+   * @param in the stream of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #stream(InputStream, Class)
+   */
+  public <T> Stream<T> stream(final InputStream in, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    if (typeRef == null) return Stream.empty();
+
+    return codec(typeRef).stream(in);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the reader.
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #stream(InputStream, Class)
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> Stream<T> stream(final Reader reader, final Class<T> type) throws JsonParseException, IOException {
+    requireText();
+    if (type == null) return Stream.empty();
+
+    return codec(type).stream(reader);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the reader.
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #stream(InputStream, Class)
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> Stream<T> stream(final Reader reader, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    requireText();
+    if (typeRef == null) return Stream.empty();
+
+    return codec(typeRef).stream(reader);
+  }
+
+  /**
+   * create the list of specified class represented by the elements of a large JSON array, the elements are bound in parallel. Throw exceptions if convert has failed.
+   * <p>
+   * the bytes are scanned once for the boundaries of the top-level elements, and the chunks of elements are bound in {@link java.util.concurrent.ForkJoinPool#commonPool()}. The input smaller than 1 MB, the input which is not an array and the formats other than strict JSON are read sequentially. Use {@link JSONCodec#parseParallel(byte[])} for generic types.
+   * </p>
+   *
+   * @param bytes JSON array encoded in UTF-8, may be null.
+   * @param type the class of elements.
+   * @return the values in order, return empty if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public <T> List<T> parseParallel(final byte[] bytes, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    if (type == null) return new ArrayList<>();
+
+    return codec(type).parseParallel(bytes);
+  }
+
+  /**
+   * create the list of specified class represented by the elements of a large JSON array file, the elements are bound in parallel. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory, so that a file larger than 2 GB is also read without buffering the whole text.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @param type the class of elements.
+   * @return the values in order, return empty if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @see #parseParallel(byte[], Class)
+   */
+  public <T> List<T> parseParallel(final Path path, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    if (type == null) return new ArrayList<>();
+
+    return codec(type).parseParallel(path);
+  }
+
+  /**
+   * returns the unordered parallel stream of specified class represented by the elements of a large JSON array, the elements are bound lazily by the terminal operation.
+   *
+   * @param bytes JSON array encoded in UTF-8, may be null.
+   * @param type the class of elements.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #parseParallel(byte[], Class)
+   */
+  public <T> Stream<T> streamParallel(final byte[] bytes, final Class<T> type) throws JsonParseException, IOException {
+    if (type == null) return Stream.empty();
+
+    return codec(type).streamParallel(bytes);
+  }
+
+  /**
+   * returns the unordered parallel stream of specified class represented by the elements of a large JSON array file, the elements are bound lazily by the terminal operation.
+   *
+   * @param path the path of JSON file, may be null.
+   * @param type the class of elements.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #parseParallel(Path, Class)
+   */
+  public <T> Stream<T> streamParallel(final Path path, final Class<T> type) throws JsonParseException, IOException {
+    if (type == null) return Stream.empty();
+
+    return codec(type).streamParallel(path);
+  }
+
+  /**
+   * returns the values at the JSON Pointers (e.g. {@code "/meta/id"}, {@code "/items/0/price"}), without binding the whole document.
+   * <p>
+   * the subtrees which no pointers point into are skipped, and the parsing stops as soon as all pointers are resolved. The values are bound as {@link Map}, {@link List}, {@link String}, {@link Number}, {@link Boolean} or null.
+   * </p>
+   *
+   * @param str JSON String, may be null.
+   * @param jsonPointers JSON Pointers, null elements are ignored.
+   * @return the values in the order of the pointers, the pointers which do not exist are not contained.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @throws IllegalStateException if the format is binary.
+   */
+  public Map<String, Object> extract(final String str, final String... jsonPointers) throws JsonParseException, JsonMappingException, IOException {
+    requireText();
+    if (str == null) return new LinkedHashMap<>();
+    try (JsonParser parser = mapper.getFactory().createParser(str)) {
+      return JSONExtractor.extract(parser, codec(Object.class), jsonPointers);
+    }
+  }
+
+  /**
+   * returns the values at the JSON Pointers, without binding the whole document.
+   *
+   * @param bytes JSON bytes, may be null.
+   * @param jsonPointers JSON Pointers, null elements are ignored.
+   * @return the values in the order of the pointers, the pointers which do not exist are not contained.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   */
+  public Map<String, Object> extract(final byte[] bytes, final String... jsonPointers) throws JsonParseException, JsonMappingException, IOException {
+    if (bytes == null) return new LinkedHashMap<>();
+    try (JsonParser parser = mapper.getFactory().createParser(bytes)) {
+      return JSONExtractor.extract(parser, codec(Object.class), jsonPointers);
+    }
+  }
+
+  /**
+   * returns the values at the JSON Pointers, without binding the whole document. The stream is not closed, and the rest of the stream is not read after all pointers are resolved.
+   *
+   * @param in the stream of JSON, may be null.
+   * @param jsonPointers JSON Pointers, null elements are ignored.
+   * @return the values in the order of the pointers, the pointers which do not exist are not contained.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   */
+  public Map<String, Object> extract(final InputStream in, final String... jsonPointers) throws JsonParseException, JsonMappingException, IOException {
+    if (in == null) return new LinkedHashMap<>();
+    try (JsonParser parser = mapper.getFactory().createParser(in)) {
+      return JSONExtractor.extract(parser, codec(Object.class), jsonPointers);
+    }
+  }
+
+  /**
+   * returns the value at the JSON Pointer as specified class, without binding the whole document.
+   *
+   * @param str JSON String, may be null.
+   * @param jsonPointer JSON Pointer, e.g. {@code "/meta/id"}.
+   * @param type destination Class.
+   * @return the value, or null if the pointer does not exist.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T extract(final String str, final String jsonPointer, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    requireText();
+    if (str == null || jsonPointer == null || type == null) return null;
+    try (JsonParser parser = mapper.getFactory().createParser(str)) {
+      return JSONExtractor.extract(parser, codec(type), jsonPointer).get(jsonPointer);
+    }
+  }
+
+  /**
+   * returns the value at the JSON Pointer as specified type, without binding the whole document.
+   *
+   * @param str JSON String, may be null.
+   * @param jsonPointer JSON Pointer, e.g. {@code "/items/0"}.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the value, or null if the pointer does not exist.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T extract(final String str, final String jsonPointer, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    requireText();
+    if (str == null || jsonPointer == null || typeRef == null) return null;
+    try (JsonParser parser = mapper.getFactory().createParser(str)) {
+      return JSONExtractor.extract(parser, codec(typeRef), jsonPointer).get(jsonPointer);
+    }
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String, without throwing exceptions.
+   * <p>
+   * the syntax of JSON is validated before parsing, so that malformed input fails fast without constructing exceptions.
+   * </p>
+   *
+   * @param str JSON String.
+   * @param type destination Class.
+   * @return {@link ParseResult}, the value is null if null input, or a failure in binary format.
+   */
+  public <T> ParseResult<T> tryParse(final String str, final Class<T> type) {
+    if (binary) return ParseResult.failure(TEXT_UNSUPPORTED);
+    if (type == null) return ParseResult.success(null);
+    if (str == null) return type.isPrimitive() ? ParseResult.failure("no content.") : ParseResult.success(null);
+
+    return tryParse(str, codec(type));
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String, without throwing exceptions.
+   * <p>
+   * the syntax of JSON is validated before parsing, so that malformed input fails fast without constructing exceptions.
+   * </p>
+   *
+   * @param str JSON String.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return {@link ParseResult}, the value is null if null input, or a failure in binary format.
+   */
+  public <T> ParseResult<T> tryParse(final String str, final TypeReference<T> typeRef) {
+    if (binary) return ParseResult.failure(TEXT_UNSUPPORTED);
+    if (str == null || typeRef == null) return ParseResult.success(null);
+
+    return tryParse(str, codec(typeRef));
+  }
+
+  private <T> ParseResult<T> tryParse(final String str, final JSONCodec<T> codec) {
+    final int malformed = prescan ? JSONScanner.indexOfMalformed(str) : -1;
+    if (malformed > -1) return ParseResult.failure("malformed JSON at index " + malformed + ".");
+    try {
+      return ParseResult.success(codec.parse(str));
+    } catch (Exception e) {
+      return ParseResult.failure(e.getMessage());
+    }
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String. Return empty instance if convert has failed.
+   *
+   * @param str JSON String.
+   * @param type destination Class.
+   * @return the instance of specified Class.
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T parseLazy(final String str, final Class<T> type) {
+    requireText();
+    final ParseResult<T> result = tryParse(str, type);
+
+    return result.isSuccess() ? result.get() : emptyInstance(type, () -> ObjectUtils.newInstance(type));
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String. Return empty instance if convert has failed.
+   *
+   * @param str JSON String.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified class.
+   * @throws IllegalStateException if the format is binary.
+   */
+  public <T> T parseLazy(final String str, final TypeReference<T> typeRef) {
+    requireText();
+    final ParseResult<T> result = tryParse(str, typeRef);
+
+    return result.isSuccess() ? result.get() : emptyInstance(typeRef.getType(), () -> ObjectUtils.newInstance(typeRef));
+  }
+
+  /**
+   * returns an empty instance of the type, the way to create is resolved at first time and cached.
+   *
+   * @param type the type.
+   * @param factory creates an empty instance, called only at first time.
+   * @return an empty instance, or null if the type is not instantiable.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T emptyInstance(final Type type, final Callable<T> factory) {
+    Supplier<?> supplier = EMPTY_INSTANCES.get(type);
+    if (supplier == null) {
+      Object instance = null;
+      try {
+        instance = factory.call();
+      } catch (Exception e) {}
+      supplier = supplierOf(instance);
+      EMPTY_INSTANCES.putIfAbsent(type, supplier);
+
+      return (T) instance;
+    }
+
+    return (T) supplier.get();
+  }
+
+  /**
+   * immutable instances are shared, and the others are created by the constructor resolved once.
+   *
+   * @param instance an empty instance, may be null.
+   * @return the supplier of empty instances.
+   */
+  private static Supplier<?> supplierOf(final Object instance) {
+    if (instance == null) return () -> null;
+    final Class<?> type = instance.getClass();
+    if (type.isArray() || ClassUtils.isPrimitiveWrapper(type) || instance instanceof String) return () -> instance;
+    final Constructor<?> constructor = RefrectionUtils.getConstructor(type);
+    if (constructor == null) return () -> null;
+
+    return () -> {
+      try {
+        return constructor.newInstance();
+      } catch (Exception e) {}
+
+      return null;
+    };
+  }
+
+  /**
+   * stringify specified object. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @return JSON String.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public String stringify(final Object o) throws JsonGenerationException, JsonMappingException, IOException {
+    requireText();
+    return writerOf(o).writeValueAsString(o);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the stream. Throw exceptions if stringify has failed.
+   * <p>
+   * the stream is flushed, but not closed.
+   * </p>
+   *
+   * @param o an Object, may be null.
+   * @param out the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public void stringify(final Object o, final OutputStream out) throws JsonGenerationException, JsonMappingException, IOException {
+    writerOf(o).writeValue(out, o);
+  }
+
+  /**
+   * write specified object as JSON to the writer. Throw exceptions if stringify has failed.
+   * <p>
+   * the writer is flushed, but not closed.
+   * </p>
+   *
+   * @param o an Object, may be null.
+   * @param writer the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalStateException if the format is binary.
+   */
+  public void stringify(final Object o, final Writer writer) throws JsonGenerationException, JsonMappingException, IOException {
+    requireText();
+    writerOf(o).writeValue(writer, o);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the buffer, from the current position. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @param buffer the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the buffer is not enough.
+   */
+  public void stringify(final Object o, final ByteBuffer buffer) throws JsonGenerationException, JsonMappingException, IOException {
+    writeTo(o, buffer);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the buffer, from the current position. Throw exceptions if stringify has failed.
+   * <p>
+   * the bytes are generated into the buffer directly (heap or direct), without an intermediate String or array. If failed, the position of the buffer is restored.
+   * </p>
+   *
+   * @param o an Object, may be null.
+   * @param buffer the destination, must not be null.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the buffer is not enough.
+   */
+  public int writeTo(final Object o, final ByteBuffer buffer) throws JsonGenerationException, JsonMappingException, IOException {
+    return JSONCodec.writeTo(writerOf(o), o, buffer);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the array, from the specified offset. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @param bytes the destination, must not be null.
+   * @param offset the index of the array to start writing.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the array is not enough.
+   */
+  public int writeTo(final Object o, final byte[] bytes, final int offset) throws JsonGenerationException, JsonMappingException, IOException {
+    return writeTo(o, ByteBuffer.wrap(bytes, offset, bytes.length - offset));
+  }
+
+  /**
+   * append specified object as JSON encoded in UTF-8 to the builder, so that the caller can reuse the builder by {@link ByteArrayBuilder#reset()}. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @param builder the destination, must not be null.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public int writeTo(final Object o, final ByteArrayBuilder builder) throws JsonGenerationException, JsonMappingException, IOException {
+    final int size = builder.size();
+    writerOf(o).writeValue(builder, o);
+
+    return builder.size() - size;
+  }
+
+  /**
+   * write the values as NDJSON (one value per line) encoded in UTF-8 to the stream, one by one. Throw exceptions if stringify has failed.
+   * <p>
+   * the values are consumed lazily, so that the memory is bounded regardless of the number of values. The stream is flushed, but not closed.
+   * </p>
+   *
+   * @param values the values, may be null.
+   * @param out the destination, must not be null.
+   * @return the number of values written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public long writeAll(final Stream<?> values, final OutputStream out) throws JsonGenerationException, JsonMappingException, IOException {
+    return writeAll(values, out, false);
+  }
+
+  /**
+   * write the values as a JSON array, or NDJSON (one value per line) encoded in UTF-8 to the stream, one by one. Throw exceptions if stringify has failed.
+   * <p>
+   * the values are consumed lazily, so that the memory is bounded regardless of the number of values. The stream is flushed, but not closed. In binary formats, the values are simply concatenated instead of lines.
+   * </p>
+   *
+   * @param values the values, may be null.
+   * @param out the destination, must not be null.
+   * @param asArray write as an array if true, otherwise write as NDJSON.
+   * @return the number of values written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public long writeAll(final Stream<?> values, final OutputStream out, final boolean asArray) throws JsonGenerationException, JsonMappingException, IOException {
+    long count = 0;
+    final boolean lines = !asArray && !binary;
+    try (SequenceWriter writer = asArray ? mapper.writer().writeValuesAsArray(out) : lines ? mapper.writer().withRootValueSeparator("\n").writeValues(out) : mapper.writer().writeValues(out)) {
+      if (values != null) for (Iterator<?> iterator = values.iterator(); iterator.hasNext(); count++) writer.write(iterator.next());
+    }
+    if (lines && count > 0) out.write('\n');
+    out.flush();
+
+    return count;
+  }
+
+  /**
+   * stringify specified object as JSON encoded in UTF-8. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @return JSON bytes.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public byte[] stringifyAsBytes(final Object o) throws JsonGenerationException, JsonMappingException, IOException {
+    return JSONCodec.toBytes(writerOf(o), o);
+  }
+
+  /**
+   * stringify specified object. Return empty String if stringify has failed.
+   *
+   * @param obj an Object, may be null.
+   * @return JSON String.
+   * @throws IllegalStateException if the format is binary.
+   */
+  public String stringifyLazy(final Object o) {
+    requireText();
+    if (o != null && unserializable.contains(o.getClass())) return "null";
+    try {
+      return stringify(o);
+    } catch (InvalidDefinitionException e) {
+      if (o != null && e.getType() != null && o.getClass().equals(e.getType().getRawClass())) unserializable.add(o.getClass());
+    } catch (Exception e) {}
+
+    return "null";
+  }
+}
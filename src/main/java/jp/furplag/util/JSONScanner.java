@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * a validating pre-scan of JSON text, finds syntax errors without throwing exceptions.
+ * <p>
+ * the scan is conservative, reports only the errors which the strict parser (the default features of Jackson) also reports. Only the first root-level value is scanned, because the parser ignores trailing content.
+ * </p>
+ *
+ * @author furplag
+ */
+final class JSONScanner {
+
+  /** the value is an object. */
+  private static final byte OBJECT = 1;
+
+  /** the value is an array. */
+  private static final byte ARRAY = 2;
+
+  /** the features which make the parser accept what the scan reports, in addition to the ones which {@link JSONArraySplitter#isSplittable(JsonFactory)} rejects. */
+  private static final JsonParser.Feature[] RELAXED_FEATURES = {JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS, JsonParser.Feature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER, JsonParser.Feature.ALLOW_NUMERIC_LEADING_ZEROS, JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS};
+
+  /**
+   * JSONScanner instances should NOT be constructed in standard programming.
+   */
+  private JSONScanner() {}
+
+  /**
+   * returns true if the scan is consistent with the parsers of the factory, i.e. strict JSON without any relaxed features.
+   *
+   * @param factory the factory of parsers.
+   * @return true if the text of the factory can be scanned.
+   */
+  static boolean isApplicable(final JsonFactory factory) {
+    if (!JSONArraySplitter.isSplittable(factory)) return false;
+    for (JsonParser.Feature feature : RELAXED_FEATURES) if (factory.isEnabled(feature)) return false;
+
+    return true;
+  }
+
+  /**
+   * returns the index of the first character which makes the text malformed.
+   *
+   * @param cs JSON text, may be null.
+   * @return the index of the first malformed character, the length of text if the text ends unexpectedly, or {@code -1} if no syntax errors found.
+   */
+  static int indexOfMalformed(final CharSequence cs) {
+    if (cs == null) return 0;
+    final int length = cs.length();
+    int i = skipWhitespace(cs, 0);
+    if (i < length && cs.charAt(i) == '\uFEFF') return -1;
+    byte[] containers = new byte[16];
+    int depth = 0;
+    while (true) {
+      // a value.
+      if (i >= length) return i;
+      final char c = cs.charAt(i);
+      if (c == '{' || c == '[') {
+        if (depth == containers.length) containers = Arrays.copyOf(containers, depth * 2);
+        containers[depth++] = c == '{' ? OBJECT : ARRAY;
+        i = skipWhitespace(cs, i + 1);
+        if (i >= length) return i;
+        if (cs.charAt(i) == (c == '{' ? '}' : ']')) {
+          depth--;
+          i++;
+        } else if (c == '{') {
+          i = scanKey(cs, i);
+          if (i < 0) return -i - 1;
+          continue;
+        } else {
+          continue;
+        }
+      } else if (c == '"') {
+        i = scanString(cs, i);
+        if (i < 0) return -i - 1;
+      } else if (c == 't' || c == 'f' || c == 'n') {
+        i = scanLiteral(cs, i, c == 't' ? "true" : c == 'f' ? "false" : "null");
+        if (i < 0) return -i - 1;
+      } else if (c == '-' || (c >= '0' && c <= '9')) {
+        i = scanNumber(cs, i);
+        if (i < 0) return -i - 1;
+      } else {
+        return i;
+      }
+      // after a value.
+      while (true) {
+        if (depth < 1) return -1;
+        i = skipWhitespace(cs, i);
+        if (i >= length) return i;
+        final char next = cs.charAt(i);
+        if (next == ',') {
+          i = skipWhitespace(cs, i + 1);
+          if (containers[depth - 1] == OBJECT) {
+            i = scanKey(cs, i);
+            if (i < 0) return -i - 1;
+          }
+          break;
+        }
+        if (next != (containers[depth - 1] == OBJECT ? '}' : ']')) return i;
+        depth--;
+        i++;
+      }
+    }
+  }
+
+  /**
+   * returns true if the character is a whitespace of JSON.
+   *
+   * @param c the character.
+   * @return true if the character is a whitespace of JSON.
+   */
+  private static boolean isWhitespace(final char c) {
+    return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+  }
+
+  private static int skipWhitespace(final CharSequence cs, final int fromIndex) {
+    int i = fromIndex;
+    while (i < cs.length() && isWhitespace(cs.charAt(i))) i++;
+
+    return i;
+  }
+
+  /**
+   * scans a field name and the colon.
+   *
+   * @return the index of the value, or {@code -(index of malformed) - 1}.
+   */
+  private static int scanKey(final CharSequence cs, final int fromIndex) {
+    if (fromIndex >= cs.length() || cs.charAt(fromIndex) != '"') return -fromIndex - 1;
+    int i = scanString(cs, fromIndex);
+    if (i < 0) return i;
+    i = skipWhitespace(cs, i);
+    if (i >= cs.length() || cs.charAt(i) != ':') return -i - 1;
+
+    return skipWhitespace(cs, i + 1);
+  }
+
+  /**
+   * scans a string, quoted and escaped.
+   *
+   * @return the index after the closing quote, or {@code -(index of malformed) - 1}.
+   */
+  private static int scanString(final CharSequence cs, final int fromIndex) {
+    final int length = cs.length();
+    for (int i = fromIndex + 1; i < length; i++) {
+      final char c = cs.charAt(i);
+      if (c == '"') return i + 1;
+      if (c < 0x20) return -i - 1;
+      if (c != '\\') continue;
+      if (++i >= length) return -length - 1;
+      switch (cs.charAt(i)) {
+        case '"': case '\\': case '/': case 'b': case 'f': case 'n': case 'r': case 't':
+          break;
+        case 'u':
+          for (int j = 0; j < 4; j++) {
+            if (++i >= length) return -length - 1;
+            if (Character.digit(cs.charAt(i), 16) < 0) return -i - 1;
+          }
+          break;
+        default:
+          return -i - 1;
+      }
+    }
+
+    return -length - 1;
+  }
+
+  /**
+   * scans a literal.
+   *
+   * @return the index after the literal, or {@code -(index of malformed) - 1}.
+   */
+  private static int scanLiteral(final CharSequence cs, final int fromIndex, final String literal) {
+    for (int i = 0; i < literal.length(); i++) {
+      if (fromIndex + i >= cs.length() || cs.charAt(fromIndex + i) != literal.charAt(i)) return -(fromIndex + i) - 1;
+    }
+
+    return fromIndex + literal.length();
+  }
+
+  /**
+   * scans a number, no leading zeros, no leading plus, and digits required before and after the decimal point.
+   *
+   * @return the index after the number, or {@code -(index of malformed) - 1}.
+   */
+  private static int scanNumber(final CharSequence cs, final int fromIndex) {
+    int i = fromIndex;
+    if (cs.charAt(i) == '-') i++;
+    final int integer = i;
+    i = skipDigits(cs, i);
+    if (i == integer) return -i - 1;
+    if (i - integer > 1 && cs.charAt(integer) == '0') return -(integer + 1) - 1;
+    if (i < cs.length() && cs.charAt(i) == '.') {
+      final int fraction = ++i;
+      i = skipDigits(cs, i);
+      if (i == fraction) return -i - 1;
+    }
+    if (i < cs.length() && (cs.charAt(i) == 'e' || cs.charAt(i) == 'E')) {
+      i++;
+      if (i < cs.length() && (cs.charAt(i) == '+' || cs.charAt(i) == '-')) i++;
+      final int exponent = i;
+      i = skipDigits(cs, i);
+      if (i == exponent) return -i - 1;
+    }
+
+    return i;
+  }
+
+  private static int skipDigits(final CharSequence cs, final int fromIndex) {
+    int i = fromIndex;
+    while (i < cs.length() && cs.charAt(i) >= '0' && cs.charAt(i) <= '9') i++;
+
+    return i;
+  }
+}
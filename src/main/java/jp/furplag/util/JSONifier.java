@@ -16,26 +16,29 @@
 package jp.furplag.util;
 
 import java.io.IOException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
-
-import jp.furplag.util.commons.ObjectUtils;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 
 /**
  * utilities for convert between Object and JSON.
+ * <p>
+ * the static methods delegate to the default instance of {@link JSONMapper}, use {@link JSONMapper#builder()} to configure another profile.
+ * </p>
  *
  * @author furplag
  */
@@ -46,20 +49,76 @@ public final class JSONifier {
    */
   private JSONifier() {}
 
-  /** ignore unknown field mapping error. */
-  // @formatter:off
-  private static final ObjectMapper MAPPER =
-    new ObjectMapper()
-      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-      .registerModules(
-        new JavaTimeModule()
-        .addSerializer(LocalDateTime.class, new LocalDateTimeSerializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
-        .addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
-        .addSerializer(LocalDate.class, new LocalDateSerializer(DateTimeFormatter.ISO_LOCAL_DATE))
-        .addDeserializer(LocalDate.class, new LocalDateDeserializer(DateTimeFormatter.ISO_LOCAL_DATE))
-      )
-    ;
-  // @formatter:on
+  /**
+   * the name of system property to enable generated accessors ( &quot;true&quot; to enable ).
+   * <p>
+   * if enabled, properties of beans are accessed by the bytecode generated by {@link AfterburnerModule}, instead of reflection. The generated classes have to be defined in the class loader of beans, so that this option is ignored on Java 9 and later unless {@code --add-opens java.base/java.lang=ALL-UNNAMED} specified.
+   * </p>
+   */
+  public static final String AFTERBURNER = "jp.furplag.util.JSONifier.afterburner";
+
+  /** the default instance. */
+  private static final JSONMapper DEFAULT = JSONMapper.builder().build();
+
+  /** the instances of binary formats, initialized at first use. */
+  private static final class BinaryMappers {
+
+    private static final JSONMapper CBOR = JSONMapper.builder(JSONMapper.Profile.CBOR).build();
+
+    private static final JSONMapper SMILE = JSONMapper.builder(JSONMapper.Profile.SMILE).build();
+  }
+
+  /**
+   * returns the shared instance of binary format CBOR, configured same as JSONifier. Read and write bytes or streams, the methods of String throw {@link IllegalStateException}.
+   *
+   * <pre>
+   * byte[] bytes = JSONifier.cbor().stringifyAsBytes(entity);
+   * Entity entity = JSONifier.cbor().parseBytes(bytes, Entity.class);
+   * </pre>
+   *
+   * @return {@link JSONMapper} of CBOR.
+   */
+  public static JSONMapper cbor() {
+    return BinaryMappers.CBOR;
+  }
+
+  /**
+   * returns the shared instance of binary format Smile, configured same as JSONifier.
+   *
+   * @return {@link JSONMapper} of Smile.
+   * @see #cbor()
+   */
+  public static JSONMapper smile() {
+    return BinaryMappers.SMILE;
+  }
+
+  /**
+   * returns the codec for specified class, the codec is created at first time and cached.
+   *
+   * <pre>
+   * private static final JSONCodec&lt;Entity&gt; CODEC = JSONifier.codec(Entity.class);
+   * </pre>
+   *
+   * @param type the class of values, must not be null.
+   * @return {@link JSONCodec}.
+   */
+  public static <T> JSONCodec<T> codec(final Class<T> type) {
+    return DEFAULT.codec(type);
+  }
+
+  /**
+   * returns the codec for specified type, the codec is created at first time and cached.
+   *
+   * <pre>
+   * private static final JSONCodec&lt;Map&lt;String, List&lt;Entity&gt;&gt;&gt; CODEC = JSONifier.codec(new TypeReference&lt;Map&lt;String, List&lt;Entity&gt;&gt;&gt;() {});
+   * </pre>
+   *
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}, must not be null.
+   * @return {@link JSONCodec}.
+   */
+  public static <T> JSONCodec<T> codec(final TypeReference<T> typeRef) {
+    return DEFAULT.codec(typeRef);
+  }
 
   /**
    * create the instance of specified class represented by the JSON String. Throw exceptions if convert has failed.
@@ -72,9 +131,7 @@ public final class JSONifier {
    * @throws IOException
    */
   public static <T> T parse(final String str, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
-    if (str == null) return type == null ? null : type.isPrimitive() ? MAPPER.readValue("", type) : null;
-
-    return MAPPER.readValue(str, type);
+    return DEFAULT.parse(str, type);
   }
 
   /**
@@ -88,9 +145,475 @@ public final class JSONifier {
    * @throws IOException
    */
   public static <T> T parse(final String str, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
-    if (str != null && typeRef != null) return MAPPER.readValue(str, typeRef);
+    return DEFAULT.parse(str, typeRef);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the stream. Throw exceptions if convert has failed.
+   * <p>
+   * the stream is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseStream(final InputStream in, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseStream(in, type);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the stream. Throw exceptions if convert has failed.
+   * <p>
+   * the stream is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseStream(final InputStream in, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseStream(in, typeRef);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the reader. Throw exceptions if convert has failed.
+   * <p>
+   * the reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseReader(final Reader reader, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseReader(reader, type);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON read from the reader. Throw exceptions if convert has failed.
+   * <p>
+   * the reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseReader(final Reader reader, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseReader(reader, typeRef);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON encoded in UTF-8 (or UTF-16, UTF-32 detected automatically). Throw exceptions if convert has failed.
+   *
+   * @param bytes JSON bytes, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseBytes(final byte[] bytes, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseBytes(bytes, type);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON encoded in UTF-8 (or UTF-16, UTF-32 detected automatically). Throw exceptions if convert has failed.
+   *
+   * @param bytes JSON bytes, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseBytes(final byte[] bytes, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseBytes(bytes, typeRef);
+  }
+
+  /**
+   * create the instance of specified class represented by the remaining bytes of the buffer. Throw exceptions if convert has failed.
+   * <p>
+   * the position of the buffer is not changed. Heap buffers are read in place, and direct (or mapped) buffers are read without copying into a String.
+   * </p>
+   *
+   * @param buffer JSON bytes, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseBuffer(final ByteBuffer buffer, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseBuffer(buffer, type);
+  }
+
+  /**
+   * create the instance of specified class represented by the remaining bytes of the buffer. Throw exceptions if convert has failed.
+   * <p>
+   * the position of the buffer is not changed. Heap buffers are read in place, and direct (or mapped) buffers are read without copying into a String.
+   * </p>
+   *
+   * @param buffer JSON bytes, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseBuffer(final ByteBuffer buffer, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseBuffer(buffer, typeRef);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON file. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory, so that a large file is read without buffering the whole text as a String.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @param type destination Class.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseFile(final Path path, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseFile(path, type);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON file. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory, so that a large file is read without buffering the whole text as a String.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the instance of specified Class, return null if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> T parseFile(final Path path, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseFile(path, typeRef);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the stream, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The stream is not closed.
+   * </p>
+   *
+   * <pre>
+   * try (MappingIterator&lt;Entity&gt; it = JSONifier.iterate(in, Entity.class)) {
+   *   while (it.hasNext()) process(it.next());
+   * }
+   * </pre>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   */
+  public static <T> MappingIterator<T> iterate(final InputStream in, final Class<T> type) throws JsonParseException, IOException {
+    return DEFAULT.iterate(in, type);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the stream, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The stream is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   */
+  public static <T> MappingIterator<T> iterate(final InputStream in, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    return DEFAULT.iterate(in, typeRef);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the reader, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   */
+  public static <T> MappingIterator<T> iterate(final Reader reader, final Class<T> type) throws JsonParseException, IOException {
+    return DEFAULT.iterate(reader, type);
+  }
+
+  /**
+   * returns an iterator which decodes the values one by one from the reader, instead of reading the whole values into a List.
+   * <p>
+   * the elements are iterated if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are iterated. The reader is not closed.
+   * </p>
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the iterator of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   */
+  public static <T> MappingIterator<T> iterate(final Reader reader, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    return DEFAULT.iterate(reader, typeRef);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the stream.
+   * <p>
+   * the elements are streamed if the root is an array, otherwise the sequence of root-level values (e.g. NDJSON) are streamed. Errors while decoding are thrown as {@link com.fasterxml.jackson.databind.RuntimeJsonMappingException}. Closing the returned stream releases the parser, but the stream of JSON is not closed.
+   * </p>
+   *
+   * @param in the stream of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #iterate(InputStream, Class)
+   */
+  public static <T> Stream<T> stream(final InputStream in, final Class<T> type) throws JsonParseException, IOException {
+    return DEFAULT.stream(in, type);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the stream.
+   *
+   * @param in the stream of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #stream(InputStream, Class)
+   */
+  public static <T> Stream<T> stream(final InputStream in, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    return DEFAULT.stream(in, typeRef);
+  }
+
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the reader.
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param type the Class of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #stream(InputStream, Class)
+   */
+  public static <T> Stream<T> stream(final Reader reader, final Class<T> type) throws JsonParseException, IOException {
+    return DEFAULT.stream(reader, type);
+  }
 
-    return null;
+  /**
+   * returns a lazy sequential stream of the values decoded one by one from the reader.
+   *
+   * @param reader the reader of JSON, may be null.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference} of each value.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #stream(InputStream, Class)
+   */
+  public static <T> Stream<T> stream(final Reader reader, final TypeReference<T> typeRef) throws JsonParseException, IOException {
+    return DEFAULT.stream(reader, typeRef);
+  }
+
+  /**
+   * create the list of specified class represented by the elements of a large JSON array, the elements are bound in parallel. Throw exceptions if convert has failed.
+   * <p>
+   * the bytes are scanned once for the boundaries of the top-level elements, and the chunks of elements are bound in {@link java.util.concurrent.ForkJoinPool#commonPool()}. The input smaller than 1 MB, the input which is not an array and the formats other than strict JSON are read sequentially. Use {@link JSONCodec#parseParallel(byte[])} for generic types.
+   * </p>
+   *
+   * @param bytes JSON array encoded in UTF-8, may be null.
+   * @param type the class of elements.
+   * @return the values in order, return empty if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static <T> List<T> parseParallel(final byte[] bytes, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseParallel(bytes, type);
+  }
+
+  /**
+   * create the list of specified class represented by the elements of a large JSON array file, the elements are bound in parallel. Throw exceptions if convert has failed.
+   * <p>
+   * the file is mapped into memory, so that a file larger than 2 GB is also read without buffering the whole text.
+   * </p>
+   *
+   * @param path the path of JSON file, may be null.
+   * @param type the class of elements.
+   * @return the values in order, return empty if null input.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @see #parseParallel(byte[], Class)
+   */
+  public static <T> List<T> parseParallel(final Path path, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.parseParallel(path, type);
+  }
+
+  /**
+   * returns the unordered parallel stream of specified class represented by the elements of a large JSON array, the elements are bound lazily by the terminal operation.
+   *
+   * @param bytes JSON array encoded in UTF-8, may be null.
+   * @param type the class of elements.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #parseParallel(byte[], Class)
+   */
+  public static <T> Stream<T> streamParallel(final byte[] bytes, final Class<T> type) throws JsonParseException, IOException {
+    return DEFAULT.streamParallel(bytes, type);
+  }
+
+  /**
+   * returns the unordered parallel stream of specified class represented by the elements of a large JSON array file, the elements are bound lazily by the terminal operation.
+   *
+   * @param path the path of JSON file, may be null.
+   * @param type the class of elements.
+   * @return the stream of values, return empty if null input.
+   * @throws JsonParseException
+   * @throws IOException
+   * @see #parseParallel(Path, Class)
+   */
+  public static <T> Stream<T> streamParallel(final Path path, final Class<T> type) throws JsonParseException, IOException {
+    return DEFAULT.streamParallel(path, type);
+  }
+
+  /**
+   * returns the values at the JSON Pointers (e.g. {@code "/meta/id"}, {@code "/items/0/price"}), without binding the whole document.
+   * <p>
+   * the subtrees which no pointers point into are skipped, and the parsing stops as soon as all pointers are resolved. The values are bound as {@link Map}, {@link List}, {@link String}, {@link Number}, {@link Boolean} or null.
+   * </p>
+   *
+   * @param str JSON String, may be null.
+   * @param jsonPointers JSON Pointers, null elements are ignored.
+   * @return the values in the order of the pointers, the pointers which do not exist are not contained.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   */
+  public static Map<String, Object> extract(final String str, final String... jsonPointers) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.extract(str, jsonPointers);
+  }
+
+  /**
+   * returns the values at the JSON Pointers, without binding the whole document.
+   *
+   * @param bytes JSON bytes, may be null.
+   * @param jsonPointers JSON Pointers, null elements are ignored.
+   * @return the values in the order of the pointers, the pointers which do not exist are not contained.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   */
+  public static Map<String, Object> extract(final byte[] bytes, final String... jsonPointers) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.extract(bytes, jsonPointers);
+  }
+
+  /**
+   * returns the values at the JSON Pointers, without binding the whole document. The stream is not closed, and the rest of the stream is not read after all pointers are resolved.
+   *
+   * @param in the stream of JSON, may be null.
+   * @param jsonPointers JSON Pointers, null elements are ignored.
+   * @return the values in the order of the pointers, the pointers which do not exist are not contained.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   */
+  public static Map<String, Object> extract(final InputStream in, final String... jsonPointers) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.extract(in, jsonPointers);
+  }
+
+  /**
+   * returns the value at the JSON Pointer as specified class, without binding the whole document.
+   *
+   * @param str JSON String, may be null.
+   * @param jsonPointer JSON Pointer, e.g. {@code "/meta/id"}.
+   * @param type destination Class.
+   * @return the value, or null if the pointer does not exist.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   */
+  public static <T> T extract(final String str, final String jsonPointer, final Class<T> type) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.extract(str, jsonPointer, type);
+  }
+
+  /**
+   * returns the value at the JSON Pointer as specified type, without binding the whole document.
+   *
+   * @param str JSON String, may be null.
+   * @param jsonPointer JSON Pointer, e.g. {@code "/items/0"}.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return the value, or null if the pointer does not exist.
+   * @throws JsonParseException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws IllegalArgumentException if the pointer is invalid.
+   * @see #extract(String, String...)
+   */
+  public static <T> T extract(final String str, final String jsonPointer, final TypeReference<T> typeRef) throws JsonParseException, JsonMappingException, IOException {
+    return DEFAULT.extract(str, jsonPointer, typeRef);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String, without throwing exceptions.
+   * <p>
+   * the syntax of JSON is validated before parsing, so that malformed input fails fast without constructing exceptions.
+   * </p>
+   *
+   * @param str JSON String.
+   * @param type destination Class.
+   * @return {@link ParseResult}, the value is null if null input.
+   */
+  public static <T> ParseResult<T> tryParse(final String str, final Class<T> type) {
+    return DEFAULT.tryParse(str, type);
+  }
+
+  /**
+   * create the instance of specified class represented by the JSON String, without throwing exceptions.
+   * <p>
+   * the syntax of JSON is validated before parsing, so that malformed input fails fast without constructing exceptions.
+   * </p>
+   *
+   * @param str JSON String.
+   * @param typeRef {@link com.fasterxml.jackson.core.type.TypeReference}.
+   * @return {@link ParseResult}, the value is null if null input.
+   */
+  public static <T> ParseResult<T> tryParse(final String str, final TypeReference<T> typeRef) {
+    return DEFAULT.tryParse(str, typeRef);
   }
 
   /**
@@ -101,15 +624,7 @@ public final class JSONifier {
    * @return the instance of specified Class.
    */
   public static <T> T parseLazy(final String str, final Class<T> type) {
-    try {
-      return parse(str, type);
-    } catch (Exception e) {
-      try {
-        return ObjectUtils.newInstance(type);
-      } catch (Exception ex) {}
-    }
-
-    return null;
+    return DEFAULT.parseLazy(str, type);
   }
 
   /**
@@ -120,15 +635,7 @@ public final class JSONifier {
    * @return the instance of specified class.
    */
   public static <T> T parseLazy(final String str, final TypeReference<T> typeRef) {
-    try {
-      return parse(str, typeRef);
-    } catch (Exception e) {
-      try {
-        return ObjectUtils.newInstance(typeRef);
-      } catch (Exception ex) {}
-    }
-
-    return null;
+    return DEFAULT.parseLazy(str, typeRef);
   }
 
   /**
@@ -141,7 +648,149 @@ public final class JSONifier {
    * @throws IOException
    */
   public static String stringify(final Object o) throws JsonGenerationException, JsonMappingException, IOException {
-    return MAPPER.writeValueAsString(o);
+    return DEFAULT.stringify(o);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the stream. Throw exceptions if stringify has failed.
+   * <p>
+   * the stream is flushed, but not closed.
+   * </p>
+   *
+   * @param o an Object, may be null.
+   * @param out the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static void stringify(final Object o, final OutputStream out) throws JsonGenerationException, JsonMappingException, IOException {
+    DEFAULT.stringify(o, out);
+  }
+
+  /**
+   * write specified object as JSON to the writer. Throw exceptions if stringify has failed.
+   * <p>
+   * the writer is flushed, but not closed.
+   * </p>
+   *
+   * @param o an Object, may be null.
+   * @param writer the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static void stringify(final Object o, final Writer writer) throws JsonGenerationException, JsonMappingException, IOException {
+    DEFAULT.stringify(o, writer);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the buffer, from the current position. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @param buffer the destination, must not be null.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the buffer is not enough.
+   */
+  public static void stringify(final Object o, final ByteBuffer buffer) throws JsonGenerationException, JsonMappingException, IOException {
+    DEFAULT.stringify(o, buffer);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the buffer, from the current position. Throw exceptions if stringify has failed.
+   * <p>
+   * the bytes are generated into the buffer directly (heap or direct), without an intermediate String or array. If failed, the position of the buffer is restored.
+   * </p>
+   *
+   * @param o an Object, may be null.
+   * @param buffer the destination, must not be null.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the buffer is not enough.
+   */
+  public static int writeTo(final Object o, final ByteBuffer buffer) throws JsonGenerationException, JsonMappingException, IOException {
+    return DEFAULT.writeTo(o, buffer);
+  }
+
+  /**
+   * write specified object as JSON encoded in UTF-8 to the array, from the specified offset. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @param bytes the destination, must not be null.
+   * @param offset the index of the array to start writing.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   * @throws java.nio.BufferOverflowException if the remaining of the array is not enough.
+   */
+  public static int writeTo(final Object o, final byte[] bytes, final int offset) throws JsonGenerationException, JsonMappingException, IOException {
+    return DEFAULT.writeTo(o, bytes, offset);
+  }
+
+  /**
+   * append specified object as JSON encoded in UTF-8 to the builder, so that the caller can reuse the builder by {@link ByteArrayBuilder#reset()}. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @param builder the destination, must not be null.
+   * @return the number of bytes written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static int writeTo(final Object o, final ByteArrayBuilder builder) throws JsonGenerationException, JsonMappingException, IOException {
+    return DEFAULT.writeTo(o, builder);
+  }
+
+  /**
+   * write the values as NDJSON (one value per line) encoded in UTF-8 to the stream, one by one. Throw exceptions if stringify has failed.
+   * <p>
+   * the values are consumed lazily, so that the memory is bounded regardless of the number of values. The stream is flushed, but not closed.
+   * </p>
+   *
+   * @param values the values, may be null.
+   * @param out the destination, must not be null.
+   * @return the number of values written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static long writeAll(final Stream<?> values, final OutputStream out) throws JsonGenerationException, JsonMappingException, IOException {
+    return DEFAULT.writeAll(values, out);
+  }
+
+  /**
+   * write the values as a JSON array, or NDJSON (one value per line) encoded in UTF-8 to the stream, one by one. Throw exceptions if stringify has failed.
+   * <p>
+   * the values are consumed lazily, so that the memory is bounded regardless of the number of values. The stream is flushed, but not closed.
+   * </p>
+   *
+   * @param values the values, may be null.
+   * @param out the destination, must not be null.
+   * @param asArray write as an array if true, otherwise write as NDJSON.
+   * @return the number of values written.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static long writeAll(final Stream<?> values, final OutputStream out, final boolean asArray) throws JsonGenerationException, JsonMappingException, IOException {
+    return DEFAULT.writeAll(values, out, asArray);
+  }
+
+  /**
+   * stringify specified object as JSON encoded in UTF-8. Throw exceptions if stringify has failed.
+   *
+   * @param o an Object, may be null.
+   * @return JSON bytes.
+   * @throws JsonGenerationException
+   * @throws JsonMappingException
+   * @throws IOException
+   */
+  public static byte[] stringifyAsBytes(final Object o) throws JsonGenerationException, JsonMappingException, IOException {
+    return DEFAULT.stringifyAsBytes(o);
   }
 
   /**
@@ -151,10 +800,6 @@ public final class JSONifier {
    * @return JSON String.
    */
   public static String stringifyLazy(final Object o) {
-    try {
-      return stringify(o);
-    } catch (Exception e) {}
-
-    return "null";
+    return DEFAULT.stringifyLazy(o);
   }
 }
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * an open addressing table of the spellings of available locales, built once at initialization.
+ * <p>
+ * the arguments are joined with {@code ","} and normalized in a buffer per thread, the same as the regular expressions
+ * {@code "_?,_?" -> "_"} and {@code "_+$" -> ""}, then the buffer is compared with the spellings char by char. So that no strings are created for each lookup.
+ * </p>
+ *
+ * @author furplag
+ */
+final class LocaleIndex {
+
+  /** the spellings. */
+  private final String[] keys;
+
+  /** hash codes of the spellings. */
+  private final int[] hashes;
+
+  /** the locales. */
+  private final Locale[] locales;
+
+  private final int mask;
+
+  /** buffers per thread, longer arguments than any spelling never match. */
+  private final ThreadLocal<Canonicalizer> canonicalizers;
+
+  /**
+   * @param locales the locales keyed on the spellings, must not be null.
+   */
+  LocaleIndex(final Map<String, Locale> locales) {
+    int capacity = 16;
+    while (capacity < locales.size() * 2) capacity <<= 1;
+    keys = new String[capacity];
+    hashes = new int[capacity];
+    this.locales = new Locale[capacity];
+    mask = capacity - 1;
+    int maxLength = 0;
+    for (Map.Entry<String, Locale> entry : locales.entrySet()) {
+      int index = entry.getKey().hashCode() & mask;
+      while (keys[index] != null) index = (index + 1) & mask;
+      keys[index] = entry.getKey();
+      hashes[index] = entry.getKey().hashCode();
+      this.locales[index] = entry.getValue();
+      maxLength = Math.max(maxLength, entry.getKey().length());
+    }
+    final int bufferSize = maxLength;
+    canonicalizers = ThreadLocal.withInitial(() -> new Canonicalizer(bufferSize));
+  }
+
+  /**
+   * returns the locale of the spelling.
+   *
+   * @param localeArg the spelling, may be null.
+   * @return the locale, or null if not available.
+   */
+  Locale get(final String localeArg) {
+    return find(canonicalizers.get().reset().append(localeArg));
+  }
+
+  /**
+   * returns the locale of the arguments, joined with {@code "_"}.
+   *
+   * @param language the language, may be null.
+   * @param country the country, may be null.
+   * @return the locale, or null if not available.
+   */
+  Locale get(final String language, final String country) {
+    return find(canonicalizers.get().reset().append(language).append(country));
+  }
+
+  /**
+   * returns the locale of the arguments, joined with {@code "_"}.
+   *
+   * @param language the language, may be null.
+   * @param country the country, may be null.
+   * @param variant the variant, may be null.
+   * @return the locale, or null if not available.
+   */
+  Locale get(final String language, final String country, final String variant) {
+    return find(canonicalizers.get().reset().append(language).append(country).append(variant));
+  }
+
+  /**
+   * returns the locale of the arguments, joined with {@code "_"}.
+   *
+   * @param localeArgs the arguments, must not be null.
+   * @return the locale, or null if not available.
+   */
+  Locale get(final String[] localeArgs) {
+    final Canonicalizer canonicalizer = canonicalizers.get().reset();
+    for (String localeArg : localeArgs) canonicalizer.append(localeArg);
+
+    return find(canonicalizer);
+  }
+
+  private Locale find(final Canonicalizer canonicalizer) {
+    final int length = canonicalizer.finish();
+    if (length < 0) return null;
+    final char[] chars = canonicalizer.chars;
+    int hash = 0;
+    for (int i = 0; i < length; i++) hash = 31 * hash + chars[i];
+    for (int index = hash & mask; keys[index] != null; index = (index + 1) & mask) {
+      if (hashes[index] == hash && matches(keys[index], chars, length)) return locales[index];
+    }
+
+    return null;
+  }
+
+  private static boolean matches(final String key, final char[] chars, final int length) {
+    if (key.length() != length) return false;
+    for (int i = 0; i < length; i++) {
+      if (key.charAt(i) != chars[i]) return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * normalizes the arguments into the buffer.
+   */
+  private static final class Canonicalizer {
+
+    private final char[] chars;
+
+    private int length;
+
+    /** underscores not written yet, dropped if trailing. */
+    private int pending;
+
+    /** no argument appended yet. */
+    private boolean first;
+
+    /** the last character is an underscore from the arguments, which stands for a separator. */
+    private boolean underscore;
+
+    /** an underscore just after a separator is swallowed. */
+    private boolean separated;
+
+    /** longer than any spelling. */
+    private boolean overflow;
+
+    private Canonicalizer(final int capacity) {
+      chars = new char[capacity];
+    }
+
+    private Canonicalizer reset() {
+      length = 0;
+      pending = 0;
+      first = true;
+      underscore = false;
+      separated = false;
+      overflow = false;
+
+      return this;
+    }
+
+    private Canonicalizer append(final String localeArg) {
+      if (!first) accept(',');
+      first = false;
+      if (localeArg != null) for (int i = 0; i < localeArg.length() && !overflow; i++) accept(localeArg.charAt(i));
+
+      return this;
+    }
+
+    private void accept(final char c) {
+      if (separated && c == '_') {
+        separated = false;
+        underscore = false;
+
+        return;
+      }
+      separated = false;
+      if (c == ',') {
+        if (!underscore) write('_');
+        underscore = false;
+        separated = true;
+
+        return;
+      }
+      write(c);
+      underscore = c == '_';
+    }
+
+    private void write(final char c) {
+      if (c == '_') pending++;
+      else if (length + pending >= chars.length) overflow = true;
+      else {
+        for (; pending > 0; pending--) chars[length++] = '_';
+        chars[length++] = c;
+      }
+    }
+
+    /**
+     * drops trailing underscores.
+     *
+     * @return the length of the normalized arguments, or -1 if longer than any spelling.
+     */
+    private int finish() {
+      return overflow ? -1 : length;
+    }
+  }
+}
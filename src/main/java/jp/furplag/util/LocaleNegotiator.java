@@ -0,0 +1,332 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * resolves {@code Accept-Language} header against the supported locales, least recently used results are evicted.
+ *
+ * <pre>
+ * LocaleNegotiator negotiator = LocaleNegotiator.of(Locale.ENGLISH, Locale.JAPAN, Locale.US, Locale.FRENCH);
+ * negotiator.negotiate("ja-JP,en-US;q=0.8") = Locale.JAPAN
+ * negotiator.negotiate("fr-CA;q=0.9, en-US") = Locale.US
+ * negotiator.negotiate("fr-CA") = Locale.FRENCH
+ * negotiator.negotiate("de, *;q=0.1") = Locale.ENGLISH
+ * negotiator.negotiate(null) = Locale.ENGLISH
+ * </pre>
+ * <p>
+ * for each language range in descending order of the quality, the supported locale which is same as the range is chosen first, then the one of the same language without country, then
+ * the first one of the same language. The ranges are resolved with the spellings of available locales, so that {@code "ja-jp"} and {@code "ja_JP"} are same as {@code "ja-JP"}.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class LocaleNegotiator {
+
+  /** the maximum number of headers to keep. */
+  public static final int MAXIMUM_SIZE = 1024;
+
+  /** longer headers are negotiated, but not cached. */
+  static final int MAXIMUM_HEADER_LENGTH = 1024;
+
+  /** the locale which is chosen if nothing matched. */
+  private final Locale fallback;
+
+  /** the supported locales, in order of preference. */
+  private final List<Locale> supportedLocales;
+
+  private final Set<Locale> supported;
+
+  // @formatter:off
+  private final Cache<String, Locale> cache =
+    CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_SIZE)
+      .recordStats()
+      .build();
+  // @formatter:on
+
+  private LocaleNegotiator(final Locale fallback, final Set<Locale> supported) {
+    this.fallback = fallback;
+    this.supported = Collections.unmodifiableSet(supported);
+    this.supportedLocales = Collections.unmodifiableList(new ArrayList<>(supported));
+  }
+
+  /**
+   * returns a negotiator of the supported locales.
+   *
+   * @param fallback the locale which is chosen if nothing matched, use default if null.
+   * @param supportedLocales the supported locales in order of preference, null elements are ignored.
+   * @return {@link LocaleNegotiator}.
+   */
+  public static LocaleNegotiator of(final Locale fallback, final Locale... supportedLocales) {
+    // @formatter:off
+    return new LocaleNegotiator(
+        fallback == null ? Locale.getDefault() : fallback
+      , supportedLocales == null ? new LinkedHashSet<>() : Arrays.stream(supportedLocales).filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new)));
+    // @formatter:on
+  }
+
+  /**
+   * returns the supported locale which matches the header best.
+   *
+   * @param acceptLanguage the value of {@code Accept-Language} header, may be null.
+   * @return the supported locale, or the fallback if nothing matched.
+   */
+  public Locale negotiate(final String acceptLanguage) {
+    if (acceptLanguage == null) return fallback;
+    if (acceptLanguage.length() > MAXIMUM_HEADER_LENGTH) return resolve(acceptLanguage);
+    Locale locale = cache.getIfPresent(acceptLanguage);
+    if (locale == null) {
+      locale = resolve(acceptLanguage);
+      cache.put(acceptLanguage, locale);
+    }
+
+    return locale;
+  }
+
+  /**
+   * returns the locale which is chosen if nothing matched.
+   *
+   * @return the fallback.
+   */
+  public Locale getFallback() {
+    return fallback;
+  }
+
+  /**
+   * returns the supported locales.
+   *
+   * @return the supported locales, in order of preference.
+   */
+  public List<Locale> getSupportedLocales() {
+    return supportedLocales;
+  }
+
+  /**
+   * returns the statistics of hits and misses.
+   *
+   * @return {@link CacheStats}.
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * returns the number of cached headers.
+   *
+   * @return the number of cached headers.
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * discards all cached results.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * negotiates without the cache.
+   *
+   * @param acceptLanguage the value of {@code Accept-Language} header, must not be null.
+   * @return the supported locale, or the fallback if nothing matched.
+   */
+  Locale resolve(final String acceptLanguage) {
+    for (LanguageRange range : parse(acceptLanguage)) {
+      final Locale locale = match(range);
+      if (locale != null) return locale;
+    }
+
+    return fallback;
+  }
+
+  private Locale match(final LanguageRange range) {
+    if (range.isWildcard()) return fallback;
+    final Locale available = range.country.isEmpty() ? Localizer.LazyInitializer.LOCALE_INDEX.get(range.language) : Localizer.LazyInitializer.LOCALE_INDEX.get(range.language, range.country);
+    if (available != null && supported.contains(available)) return available;
+    Locale sameLanguage = null;
+    for (Locale locale : supportedLocales) {
+      if (!range.language.equals(locale.getLanguage())) continue;
+      if (range.country.equals(locale.getCountry())) return locale;
+      if (sameLanguage == null || (!sameLanguage.getCountry().isEmpty() && locale.getCountry().isEmpty())) sameLanguage = locale;
+    }
+
+    return sameLanguage;
+  }
+
+  /**
+   * parses the header into the language ranges, sorted in descending order of the quality.
+   * <p>
+   * malformed ranges and the ranges of {@code q=0} are ignored.
+   * </p>
+   *
+   * @param acceptLanguage the value of {@code Accept-Language} header, must not be null.
+   * @return the language ranges.
+   */
+  static List<LanguageRange> parse(final String acceptLanguage) {
+    final List<LanguageRange> ranges = new ArrayList<>();
+    for (int begin = 0, end; begin <= acceptLanguage.length(); begin = end + 1) {
+      end = acceptLanguage.indexOf(',', begin);
+      if (end < 0) end = acceptLanguage.length();
+      final LanguageRange range = LanguageRange.parse(acceptLanguage, begin, end);
+      if (range != null) ranges.add(range);
+    }
+    ranges.sort(Comparator.comparingDouble((LanguageRange range) -> range.quality).reversed());
+
+    return ranges;
+  }
+
+  /**
+   * a language range of the header, only the language and the country are used to match.
+   */
+  static final class LanguageRange {
+
+    /** the language in lower case, or {@code "*"}. */
+    final String language;
+
+    /** the country in upper case, or empty. */
+    final String country;
+
+    final double quality;
+
+    private LanguageRange(final String language, final String country, final double quality) {
+      this.language = language;
+      this.country = country;
+      this.quality = quality;
+    }
+
+    boolean isWildcard() {
+      return "*".equals(language);
+    }
+
+    /**
+     * parses a range like {@code "en-US;q=0.8"}.
+     *
+     * @param str the header.
+     * @param begin the beginning index of the range, inclusive.
+     * @param end the ending index of the range, exclusive.
+     * @return the range, or null if malformed or not acceptable.
+     */
+    private static LanguageRange parse(final String str, final int begin, final int end) {
+      int semicolon = begin;
+      while (semicolon < end && str.charAt(semicolon) != ';') semicolon++;
+      final int tagEnd = trimEnd(str, begin, semicolon);
+      final int tagBegin = trimBegin(str, begin, tagEnd);
+      if (tagBegin >= tagEnd) return null;
+      final double quality = semicolon == end ? 1d : quality(str, semicolon + 1, end);
+      if (!(quality > 0d)) return null;
+      if (tagEnd - tagBegin == 1 && str.charAt(tagBegin) == '*') return new LanguageRange("*", "", quality);
+
+      String language = null;
+      String country = "";
+      for (int subtagBegin = tagBegin, subtagEnd = tagBegin; subtagEnd < tagEnd; subtagBegin = subtagEnd + 1) {
+        subtagEnd = subtagBegin;
+        while (subtagEnd < tagEnd && str.charAt(subtagEnd) != '-' && str.charAt(subtagEnd) != '_') subtagEnd++;
+        final int length = subtagEnd - subtagBegin;
+        if (length < 1 || length > 8 || !isAlphaNumeric(str, subtagBegin, subtagEnd)) return null;
+        if (language == null) {
+          if (!isAlpha(str, subtagBegin, subtagEnd)) return null;
+          language = str.substring(subtagBegin, subtagEnd).toLowerCase(Locale.ROOT);
+        } else if (country.isEmpty() && ((length == 2 && isAlpha(str, subtagBegin, subtagEnd)) || (length == 3 && isDigit(str, subtagBegin, subtagEnd)))) {
+          country = str.substring(subtagBegin, subtagEnd).toUpperCase(Locale.ROOT);
+        }
+      }
+
+      return new LanguageRange(language, country, quality);
+    }
+
+    /**
+     * parses the parameters, only {@code "q"} is used.
+     *
+     * @return the quality, or {@code NaN} if malformed.
+     */
+    private static double quality(final String str, final int begin, final int end) {
+      final int paramBegin = trimBegin(str, begin, end);
+      final int paramEnd = trimEnd(str, paramBegin, end);
+      if (paramEnd - paramBegin < 3 || Character.toLowerCase(str.charAt(paramBegin)) != 'q') return Double.NaN;
+      int valueBegin = trimBegin(str, paramBegin + 1, paramEnd);
+      if (valueBegin >= paramEnd || str.charAt(valueBegin) != '=') return Double.NaN;
+      valueBegin = trimBegin(str, valueBegin + 1, paramEnd);
+      if (valueBegin >= paramEnd || paramEnd - valueBegin > 5 || str.charAt(valueBegin) < '0' || str.charAt(valueBegin) > '1') return Double.NaN;
+      double quality = str.charAt(valueBegin) - '0';
+      if (valueBegin + 1 == paramEnd) return quality;
+      if (str.charAt(valueBegin + 1) != '.') return Double.NaN;
+      for (int i = valueBegin + 2, scale = 10; i < paramEnd; i++, scale *= 10) {
+        final char c = str.charAt(i);
+        if (c < '0' || c > '9') return Double.NaN;
+        quality += (c - '0') / (double) scale;
+      }
+
+      return quality > 1d ? Double.NaN : quality;
+    }
+
+    private static int trimBegin(final String str, final int begin, final int end) {
+      int i = begin;
+      while (i < end && str.charAt(i) <= ' ') i++;
+
+      return i;
+    }
+
+    private static int trimEnd(final String str, final int begin, final int end) {
+      int i = end;
+      while (i > begin && str.charAt(i - 1) <= ' ') i--;
+
+      return i;
+    }
+
+    private static boolean isAlpha(final String str, final int begin, final int end) {
+      for (int i = begin; i < end; i++) {
+        final char c = str.charAt(i);
+        if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) return false;
+      }
+
+      return true;
+    }
+
+    private static boolean isDigit(final String str, final int begin, final int end) {
+      for (int i = begin; i < end; i++) {
+        if (str.charAt(i) < '0' || str.charAt(i) > '9') return false;
+      }
+
+      return true;
+    }
+
+    private static boolean isAlphaNumeric(final String str, final int begin, final int end) {
+      for (int i = begin; i < end; i++) {
+        final char c = str.charAt(i);
+        if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9'))) return false;
+      }
+
+      return true;
+    }
+  }
+}
@@ -15,17 +15,15 @@
  */
 package jp.furplag.util;
 
-import java.time.LocalTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.map.UnmodifiableMap;
@@ -41,32 +39,25 @@ import jp.furplag.util.commons.StringUtils;
  */
 public final class Localizer {
 
-  /** a regular expression of timezone offsets. */
-  private static final Pattern OFFSET = Pattern.compile("^(\\+|\\-)?\\d{1,2}((:\\d{1,2}){1,2}|(\\d{1,2}:){2}\\d{1,2}(\\.\\d{1,3})?)?$");
-
-  private static final DateTimeFormatter OFFSET_FORMAT = DateTimeFormatter.ISO_LOCAL_TIME;
-
   public static final ZoneId UTC = ZoneId.of("Z");
 
   static final class LazyInitializer {
 
     static final Map<String, Locale> AVAILABLE_LOCALES = initializeLocales();
 
+    static final LocaleIndex LOCALE_INDEX = new LocaleIndex(AVAILABLE_LOCALES);
+
     static final Set<String> AVAILABLE_ZONE_IDS = initializeZoneIDs();
 
+    static final Set<String> AVAILABLE_ZONE_REGION_IDS = UnmodifiableSet.unmodifiableSet(new HashSet<>(ZoneId.getAvailableZoneIds()));
+
     static final Map<String, String> ZONE_DUPRECATED = initializeZoneDuprecated();
 
     private static Map<String, Locale> initializeLocales() {
-      Map<String, Locale> map = new HashMap<String, Locale>();
-      for (Locale locale : Locale.getAvailableLocales()) {
-        map.put(locale.toString(), locale);
-        String localeArgs = StringUtils.join(new String[]{locale.getLanguage(), locale.getCountry(), locale.getVariant()}, "_");
-        if (locale.toString().equals(StringUtils.replaceLast(localeArgs, "_+$", ""))) continue;
-        map.put(localeArgs, locale);
-        if (locale.toString().endsWith("#Latn")) map.put(locale.toString().replaceAll("^" + locale.getLanguage() + "_" + locale.getCountry(), locale.getLanguage() + "_" + locale.getCountry() + "_"), locale);
-      }
-
-      return UnmodifiableMap.unmodifiableMap(map);
+      final Locale[] locales = Locale.getAvailableLocales();
+      final Map<String, Locale> snapshot = LocalizerSnapshot.load(locales);
+
+      return UnmodifiableMap.unmodifiableMap(snapshot == null ? spellings(locales) : snapshot);
     }
 
     private static Set<String> initializeZoneIDs() {
@@ -83,6 +74,25 @@ public final class Localizer {
    */
   private Localizer() {}
 
+  /**
+   * returns the locales keyed on the spellings, outside of {@link LazyInitializer} so that {@link LocalizerSnapshot} is generated without initializing the tables.
+   *
+   * @param locales the available locales, must not be null.
+   * @return the locales keyed on the spellings.
+   */
+  static Map<String, Locale> spellings(final Locale[] locales) {
+    Map<String, Locale> map = new HashMap<String, Locale>();
+    for (Locale locale : locales) {
+      map.put(locale.toString(), locale);
+      String localeArgs = StringUtils.join(new String[]{locale.getLanguage(), locale.getCountry(), locale.getVariant()}, "_");
+      if (locale.toString().equals(StringUtils.replaceLast(localeArgs, "_+$", ""))) continue;
+      map.put(localeArgs, locale);
+      if (locale.toString().endsWith("#Latn")) map.put(locale.toString().replaceAll("^" + locale.getLanguage() + "_" + locale.getCountry(), locale.getLanguage() + "_" + locale.getCountry() + "_"), locale);
+    }
+
+    return map;
+  }
+
   /**
    * create {@link ZoneId}.
    *
@@ -93,6 +103,7 @@ public final class Localizer {
    * getZoneId(-9) = ZoneId.forTimeZone(TimeZone.getTimeZone("GMT-0900"))
    * getZoneId("9") = ZoneId.forTimeZone(TimeZone.getTimeZone("GMT+0900"))
    * getZoneId("-9") = ZoneId.forTimeZone(TimeZone.getTimeZone("GMT-0900"))
+   * getZoneId("-0530") = ZoneOffset.of("-05:30")
    * getZoneId("Etc/GMT-9") = ZoneId.forTimeZone(TimeZone.getTimeZone("GMT-0900"))
    * getZoneId("Etc/GMT+9") = ZoneId.forTimeZone(TimeZone.getTimeZone("GMT+0900"))
    * </pre>
@@ -120,7 +131,7 @@ public final class Localizer {
     if (zone == null) return ZoneId.systemDefault();
     if (zone instanceof ZoneId) return (ZoneId) zone;
     if (zone instanceof TimeZone) return getZoneId((TimeZone) zone);
-    if (ObjectUtils.isAny(zone.getClass(), Byte.class, Short.class, Integer.class, Long.class)) return getZoneId(Long.valueOf(zone.toString()));
+    if (ObjectUtils.isAny(zone.getClass(), Byte.class, Short.class, Integer.class, Long.class)) return getZoneId(Long.valueOf(((Number) zone).longValue()));
     if (zone instanceof String) return getZoneId(zone.toString());
 
     return UTC;
@@ -128,39 +139,41 @@ public final class Localizer {
 
   private static ZoneId getZoneId(final String zone) {
     if (zone == null) return ZoneId.systemDefault();
+    final ZoneId cached = ZoneIdCache.getIfPresent(zone);
+
+    return cached != null ? cached : ZoneIdCache.put(zone, resolve(zone));
+  }
+
+  private static ZoneId resolve(final String zone) {
     if (StringUtils.isSimilarToBlank(zone)) return UTC;
-    if (ZoneId.getAvailableZoneIds().contains(zone)) return ZoneId.of(zone.toString());
+    if (LazyInitializer.AVAILABLE_ZONE_REGION_IDS.contains(zone)) return ZoneId.of(zone);
     if (LazyInitializer.ZONE_DUPRECATED.containsKey(zone)) return TimeZone.getTimeZone(LazyInitializer.ZONE_DUPRECATED.get(zone)).toZoneId();
     if (LazyInitializer.AVAILABLE_ZONE_IDS.contains(zone)) return TimeZone.getTimeZone(zone).toZoneId();
-    Matcher base = OFFSET.matcher(StringUtils.normalize(zone, true));
-    if (base.find()) {
-      String offsetString = base.group();
-
-      int[] offsetTime = JSONifier.parseLazy(JSONifier.stringifyLazy(StringUtils.replaceFirst(offsetString, "[\\+\\-]", "").split("[:\\.]")), int[].class);
-      if (offsetTime.length < 1) return UTC;
-      LocalTime offset = LocalTime.of(offsetTime.length > 0 ? offsetTime[0] : 0, offsetTime.length > 1 ? offsetTime[1] : 0, offsetTime.length > 2 ? offsetTime[2] : 0, offsetTime.length > 3 ? offsetTime[3] : 0);
+    final ZoneOffset offset = ZoneOffsets.parse(zone);
 
-      return ZoneId.of((offsetString.startsWith("-") ? "-" : "+") + offset.format(OFFSET_FORMAT));
-    }
-
-    return UTC;
+    return offset == null ? UTC : offset;
   }
 
   private static ZoneId getZoneId(final TimeZone zone) {
     if (zone == null) return ZoneId.systemDefault();
     String zoneID = ((TimeZone) zone).getID();
-    if (ZoneId.getAvailableZoneIds().contains(zoneID)) return ZoneId.of(zoneID);
-    if (LazyInitializer.ZONE_DUPRECATED.containsKey(zoneID)) return TimeZone.getTimeZone(LazyInitializer.ZONE_DUPRECATED.get(zoneID)).toZoneId();
+    // resolved by the ID regardless of the rules of the instance, same as the String.
+    if (LazyInitializer.AVAILABLE_ZONE_REGION_IDS.contains(zoneID) || LazyInitializer.ZONE_DUPRECATED.containsKey(zoneID)) return getZoneId(zoneID);
 
     return ((TimeZone) zone).toZoneId();
   }
 
   private static ZoneId getZoneId(final Long millis) {
     if (millis == null) return ZoneId.systemDefault();
-    if (millis % 86400000L == 0) return UTC;
-    LocalTime offset = LocalTime.ofSecondOfDay((millis % 86400000L) / 1000L * (millis < 0 ? -1L : 1L));
+    final ZoneId cached = ZoneIdCache.getIfPresent(millis);
 
-    return ZoneId.of((millis < 0 ? "-" : "+") + offset.format(OFFSET_FORMAT));
+    return cached != null ? cached : ZoneIdCache.put(millis, resolve(millis.longValue()));
+  }
+
+  private static ZoneId resolve(final long millis) {
+    final ZoneOffset offset = ZoneOffsets.ofTotalSeconds((int) ((millis % 86400000L) / 1000L));
+
+    return offset == null ? UTC : offset;
   }
 
   /**
@@ -183,17 +196,58 @@ public final class Localizer {
     if (locale == null) return Locale.getDefault();
     if (locale instanceof Locale) return (Locale) locale;
     if (locale instanceof Boolean) return ((Boolean) locale) ? Locale.getDefault() : Locale.ROOT;
-    if (locale instanceof String) return getAvailableLocale(new String[]{locale.toString()});
+    if (locale instanceof String) return orRoot(LazyInitializer.LOCALE_INDEX.get((String) locale));
 
     return Locale.ROOT;
   }
 
+  /**
+   * create {@code Locale} from the language and the country.
+   *
+   * @param language the language.
+   * @param country the country.
+   * @return {@link Locale}, or {@code Locale.ROOT} if not available.
+   * @see #getAvailableLocale(String...)
+   */
+  public static Locale getAvailableLocale(final String language, final String country) {
+    return orRoot(LazyInitializer.LOCALE_INDEX.get(language, country));
+  }
+
+  /**
+   * create {@code Locale} from the language, the country and the variant.
+   *
+   * @param language the language.
+   * @param country the country.
+   * @param variant the variant.
+   * @return {@link Locale}, or {@code Locale.ROOT} if not available.
+   * @see #getAvailableLocale(String...)
+   */
+  public static Locale getAvailableLocale(final String language, final String country, final String variant) {
+    return orRoot(LazyInitializer.LOCALE_INDEX.get(language, country, variant));
+  }
+
+  /**
+   * create {@code Locale} from the arguments joined with {@code "_"}.
+   *
+   * <pre>
+   * getAvailableLocale() = Locale.getDefault()
+   * getAvailableLocale("ja", "JP") = Locale.JAPAN
+   * getAvailableLocale("ja_", "_JP") = Locale.JAPAN
+   * getAvailableLocale("", "JP") = Locale.ROOT
+   * </pre>
+   *
+   * @param localeArgs the language, the country and the variant.
+   * @return {@link Locale}, or {@code Locale.ROOT} if not available. Use default if {@code localeArgs} is empty.
+   */
   public static Locale getAvailableLocale(final String... localeArgs) {
     if (!(localeArgs != null && localeArgs.length > 0)) return Locale.getDefault();
-    String localeID = StringUtils.join(localeArgs, ",").replaceAll("_,_$", "__").replaceAll("_?,_?", "_").replaceAll("_+$", "");
-    if (LazyInitializer.AVAILABLE_LOCALES.containsKey(localeID)) return LazyInitializer.AVAILABLE_LOCALES.get(localeID);
+    if (localeArgs.length == 1) return orRoot(LazyInitializer.LOCALE_INDEX.get(localeArgs[0]));
 
-    return Locale.ROOT;
+    return orRoot(LazyInitializer.LOCALE_INDEX.get(localeArgs));
+  }
+
+  private static Locale orRoot(final Locale locale) {
+    return locale == null ? Locale.ROOT : locale;
   }
 
   public static Locale[] getAvailableLocales() {
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * a snapshot of the spellings of available locales, generated at build time to skip building the table of {@link Localizer} at runtime.
+ * <p>
+ * the snapshot is a resource of lines {@code "spelling\tindex"}, the index of {@link Locale#getAvailableLocales()}. The first line is a fingerprint of the available locales, so the snapshot
+ * is ignored and the table is built at runtime if the locale data of the JDK differs from the one at build time. The snapshot is generated with the profile {@code "snapshot"}, e.g.
+ * {@code "mvn -P snapshot package"} by the build-only {@code LocalizerSnapshotGenerator}, and ignored if the system property {@code "jp.furplag.util.Localizer.snapshot"} is {@code "false"}.
+ * </p>
+ *
+ * @author furplag
+ */
+final class LocalizerSnapshot {
+
+  /** the name of the resource. */
+  static final String RESOURCE = "localizer.snapshot";
+
+  /** the system property to disable the snapshot. */
+  static final String PROPERTY = "jp.furplag.util.Localizer.snapshot";
+
+  /**
+   * LocalizerSnapshot instances should NOT be constructed in standard programming.
+   */
+  private LocalizerSnapshot() {}
+
+  /**
+   * writes the snapshot of the available locales into the directory of classes.
+   *
+   * @param classes the directory of classes, e.g. {@code "target/classes"}, must not be null.
+   * @return the path of the snapshot.
+   * @throws IOException if an I/O error occurs.
+   */
+  static Path write(final Path classes) throws IOException {
+    final Path path = classes.resolve(LocalizerSnapshot.class.getPackage().getName().replace('.', '/')).resolve(RESOURCE);
+    Files.createDirectories(path.getParent());
+    try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      write(writer, Locale.getAvailableLocales());
+    }
+
+    return path;
+  }
+
+  /**
+   * writes the snapshot of the spellings of the locales.
+   *
+   * @param writer the destination, must not be null.
+   * @param locales the available locales, must not be null.
+   * @throws IOException if an I/O error occurs.
+   */
+  static void write(final Writer writer, final Locale[] locales) throws IOException {
+    final Map<Locale, Integer> indexes = new IdentityHashMap<>();
+    for (int i = 0; i < locales.length; i++) indexes.put(locales[i], i);
+    writer.write(fingerprint(locales));
+    writer.write('\n');
+    for (Map.Entry<String, Locale> entry : new TreeMap<>(Localizer.spellings(locales)).entrySet()) {
+      writer.write(entry.getKey());
+      writer.write('\t');
+      writer.write(Integer.toString(indexes.get(entry.getValue())));
+      writer.write('\n');
+    }
+  }
+
+  /**
+   * reads the snapshot from the resource.
+   *
+   * @param locales the available locales, must not be null.
+   * @return the locales keyed on the spellings, or null if the snapshot is not available, disabled, or generated from the other locale data.
+   */
+  static Map<String, Locale> load(final Locale[] locales) {
+    if ("false".equalsIgnoreCase(System.getProperty(PROPERTY))) return null;
+    try (InputStream in = LocalizerSnapshot.class.getResourceAsStream(RESOURCE)) {
+      return in == null ? null : read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), locales);
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * reads the snapshot.
+   *
+   * @param reader the snapshot, must not be null.
+   * @param locales the available locales, must not be null.
+   * @return the locales keyed on the spellings, or null if generated from the other locale data.
+   * @throws IOException if an I/O error occurs.
+   * @throws RuntimeException if the snapshot is malformed.
+   */
+  static Map<String, Locale> read(final BufferedReader reader, final Locale[] locales) throws IOException {
+    if (!fingerprint(locales).equals(reader.readLine())) return null;
+    final Map<String, Locale> map = new HashMap<>(locales.length * 4);
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      final int tab = line.indexOf('\t');
+      map.put(line.substring(0, tab), locales[Integer.parseInt(line.substring(tab + 1))]);
+    }
+
+    return map;
+  }
+
+  /**
+   * the number and the hash code of the available locales, in order.
+   *
+   * @param locales the available locales, must not be null.
+   * @return the fingerprint.
+   */
+  static String fingerprint(final Locale[] locales) {
+    return "locales:" + locales.length + ":" + Integer.toHexString(Arrays.hashCode(locales));
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+
+/**
+ * the result of conversion, either the value or the reason of failure, without throwing exceptions.
+ *
+ * <pre>
+ * ParseResult&lt;Entity&gt; result = JSONifier.tryParse(json, Entity.class);
+ * if (result.isSuccess()) process(result.get());
+ * else log(result.getFailure());
+ * </pre>
+ *
+ * @author furplag
+ * @param <T> the type of the value.
+ * @see JSONifier#tryParse(String, Class)
+ */
+public final class ParseResult<T> {
+
+  /** the result of null. */
+  private static final ParseResult<?> NULL = new ParseResult<>(null, null);
+
+  /** the value, null if failed. */
+  private final T value;
+
+  /** the reason of failure, null if succeeded. */
+  private final String failure;
+
+  private ParseResult(final T value, final String failure) {
+    this.value = value;
+    this.failure = failure;
+  }
+
+  /**
+   * returns a result of success.
+   *
+   * @param value the value, may be null.
+   * @return a result of success.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> ParseResult<T> success(final T value) {
+    return value == null ? (ParseResult<T>) NULL : new ParseResult<>(value, null);
+  }
+
+  /**
+   * returns a result of failure.
+   *
+   * @param failure the reason of failure.
+   * @return a result of failure.
+   */
+  public static <T> ParseResult<T> failure(final String failure) {
+    return new ParseResult<>(null, String.valueOf(failure));
+  }
+
+  /**
+   * returns true if the conversion has succeeded.
+   *
+   * @return true if the conversion has succeeded.
+   */
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  /**
+   * returns the value.
+   *
+   * @return the value, may be null.
+   * @throws NoSuchElementException if the conversion has failed.
+   */
+  public T get() {
+    if (failure != null) throw new NoSuchElementException(failure);
+
+    return value;
+  }
+
+  /**
+   * returns the value if succeeded, otherwise returns other.
+   *
+   * @param other the value to be returned if failed.
+   * @return the value, or other.
+   */
+  public T orElse(final T other) {
+    return failure == null ? value : other;
+  }
+
+  /**
+   * returns the value if succeeded, otherwise returns the result of supplier.
+   *
+   * @param supplier the supplier of the value to be returned if failed.
+   * @return the value, or the result of supplier.
+   */
+  public T orElseGet(final Supplier<? extends T> supplier) {
+    return failure == null ? value : supplier.get();
+  }
+
+  /**
+   * returns the reason of failure.
+   *
+   * @return the reason of failure, or null if succeeded.
+   */
+  public String getFailure() {
+    return failure;
+  }
+
+  @Override
+  public String toString() {
+    return failure == null ? "ParseResult[" + value + "]" : "ParseResult.failure[" + failure + "]";
+  }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.time.ZoneId;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * a bounded cache of {@link ZoneId} resolved by {@link Localizer#getZoneId(Object)}, least recently used entries are evicted.
+ * <p>
+ * the keys are the raw inputs, the {@link String} of zone IDs or offsets, and the {@link Long} of offset millis.
+ * </p>
+ *
+ * @author furplag
+ */
+public final class ZoneIdCache {
+
+  /** the maximum number of entries to keep. */
+  public static final int MAXIMUM_SIZE = 1024;
+
+  // @formatter:off
+  private static final Cache<Object, ZoneId> CACHE =
+    CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_SIZE)
+      .recordStats()
+      .build();
+  // @formatter:on
+
+  /**
+   * ZoneIdCache instances should NOT be constructed in standard programming.
+   */
+  private ZoneIdCache() {}
+
+  /**
+   * returns the cached {@link ZoneId} of the input.
+   *
+   * @param key the input, must not be null.
+   * @return the cached {@link ZoneId}, or null if not cached.
+   */
+  static ZoneId getIfPresent(final Object key) {
+    return CACHE.getIfPresent(key);
+  }
+
+  /**
+   * caches the {@link ZoneId} of the input.
+   *
+   * @param key the input, must not be null.
+   * @param zoneId the resolved {@link ZoneId}, must not be null.
+   * @return the zoneId.
+   */
+  static ZoneId put(final Object key, final ZoneId zoneId) {
+    CACHE.put(key, zoneId);
+
+    return zoneId;
+  }
+
+  /**
+   * returns the statistics of hits and misses.
+   *
+   * @return {@link CacheStats}.
+   */
+  public static CacheStats stats() {
+    return CACHE.stats();
+  }
+
+  /**
+   * returns the number of cached entries.
+   *
+   * @return the number of cached entries.
+   */
+  public static long size() {
+    return CACHE.size();
+  }
+
+  /**
+   * discards all cached entries.
+   */
+  public static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+}
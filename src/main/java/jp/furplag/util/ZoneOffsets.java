@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import java.time.ZoneOffset;
+
+import jp.furplag.util.commons.StringUtils;
+
+/**
+ * parses the offsets of timezone (e.g. {@code "+09:00"}, {@code "-5"}, {@code "-0530"}) without regular expressions, into the canonical {@link ZoneOffset} instances.
+ * <p>
+ * the offsets in quarter hours (-18:00 to +18:00) are prebuilt, so that parsing the usual forms allocates nothing. Only the strings which contain non-ASCII characters (e.g. full-width digits) are normalized (NFKC) before parsing.
+ * </p>
+ *
+ * <pre>
+ * ZoneOffsets.parse("9")          = +09:00
+ * ZoneOffsets.parse("-9:30")      = -09:30
+ * ZoneOffsets.parse("+09:30:15")  = +09:30:15
+ * ZoneOffsets.parse("-0530")      = -05:30
+ * ZoneOffsets.parse("＋０９：００") = +09:00
+ * ZoneOffsets.parse("+19:00")     = null
+ * ZoneOffsets.parse("9.5")        = null
+ * </pre>
+ *
+ * @author furplag
+ */
+final class ZoneOffsets {
+
+  /** the number of seconds in a quarter hour. */
+  private static final int QUARTER = 15 * 60;
+
+  /** the maximum offset in seconds. */
+  private static final int MAXIMUM = 18 * 60 * 60;
+
+  /** the offsets in quarter hours, from -18:00 to +18:00. */
+  private static final ZoneOffset[] QUARTERS = new ZoneOffset[MAXIMUM / QUARTER * 2 + 1];
+
+  static {
+    for (int i = 0; i < QUARTERS.length; i++) QUARTERS[i] = ZoneOffset.ofTotalSeconds(i * QUARTER - MAXIMUM);
+  }
+
+  /**
+   * ZoneOffsets instances should NOT be constructed in standard programming.
+   */
+  private ZoneOffsets() {}
+
+  /**
+   * returns the offset of the total seconds.
+   *
+   * @param totalSeconds the total offset in seconds.
+   * @return the offset, or null if out of range (-18:00 to +18:00).
+   */
+  static ZoneOffset ofTotalSeconds(final int totalSeconds) {
+    if (totalSeconds < -MAXIMUM || totalSeconds > MAXIMUM) return null;
+
+    return totalSeconds % QUARTER == 0 ? QUARTERS[(totalSeconds + MAXIMUM) / QUARTER] : ZoneOffset.ofTotalSeconds(totalSeconds);
+  }
+
+  /**
+   * parses the offset, the forms of {@code [+-]H[H][:M[M][:S[S]]]} and {@code [+-]HHMM[SS]} are acceptable.
+   *
+   * @param str the string, may be null.
+   * @return the offset, or null if the string is not an offset or out of range.
+   */
+  static ZoneOffset parse(final String str) {
+    if (str == null) return null;
+    for (int i = 0; i < str.length(); i++) {
+      if (str.charAt(i) > 0x7F) return parseASCII(StringUtils.normalize(str, true));
+    }
+
+    return parseASCII(str);
+  }
+
+  private static ZoneOffset parseASCII(final String str) {
+    int begin = 0;
+    int end = str.length();
+    while (begin < end && str.charAt(begin) <= ' ') begin++;
+    while (end > begin && str.charAt(end - 1) <= ' ') end--;
+    if (begin == end) return null;
+    final boolean negative = str.charAt(begin) == '-';
+    if (negative || str.charAt(begin) == '+') begin++;
+    final int digits = countDigits(str, begin, end);
+    int hours;
+    int minutes = 0;
+    int seconds = 0;
+    if (begin + digits == end && (digits == 4 || digits == 6)) {
+      // compact form.
+      hours = toInt(str, begin, 2);
+      minutes = toInt(str, begin + 2, 2);
+      if (digits == 6) seconds = toInt(str, begin + 4, 2);
+    } else {
+      if (digits < 1 || digits > 2) return null;
+      hours = toInt(str, begin, digits);
+      for (int i = begin + digits, field = 1; i < end; field++) {
+        if (field > 2 || str.charAt(i) != ':') return null;
+        final int length = countDigits(str, ++i, end);
+        if (length < 1 || length > 2) return null;
+        if (field == 1) minutes = toInt(str, i, length);
+        else seconds = toInt(str, i, length);
+        i += length;
+      }
+    }
+    if (minutes > 59 || seconds > 59) return null;
+    final int totalSeconds = hours * 3600 + minutes * 60 + seconds;
+
+    return ofTotalSeconds(negative ? -totalSeconds : totalSeconds);
+  }
+
+  private static int countDigits(final String str, final int begin, final int end) {
+    int i = begin;
+    while (i < end && str.charAt(i) >= '0' && str.charAt(i) <= '9') i++;
+
+    return i - begin;
+  }
+
+  private static int toInt(final String str, final int begin, final int length) {
+    int value = 0;
+    for (int i = begin; i < begin + length; i++) value = value * 10 + str.charAt(i) - '0';
+
+    return value;
+  }
+}
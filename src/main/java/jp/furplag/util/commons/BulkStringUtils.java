@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * bulk variants of {@link StringUtils}, applies the function to each element of the array, list or stream.
+ * <p>
+ * in parallel mode, the elements are split into chunks and processed in {@link ForkJoinPool#commonPool()}. The functions of {@link StringUtils} reuse a buffer per thread, so that no intermediate builders are created for each element.
+ * </p>
+ *
+ * <pre>
+ * BulkStringUtils.map(column, StringUtils::normalize, true)
+ * BulkStringUtils.map(column, (s) -&gt; StringUtils.normalizeKana(s, true), true)
+ * BulkStringUtils.byteLength(column, StandardCharsets.UTF_8, false)
+ * </pre>
+ *
+ * @author furplag
+ */
+public final class BulkStringUtils {
+
+  /** the minimum number of elements of a chunk in parallel mode. */
+  static final int THRESHOLD = 1024;
+
+  /**
+   * BulkStringUtils instances should NOT be constructed in standard programming.
+   */
+  private BulkStringUtils() {}
+
+  /**
+   * returns a new array of the results of applying the function to each element.
+   *
+   * @param strs the strings, may be null.
+   * @param operator the function to apply to each element, e.g. {@code StringUtils::normalize}.
+   * @param parallel if {@code true}, process in parallel.
+   * @return the results, return null if null array input.
+   */
+  public static String[] map(final String[] strs, final UnaryOperator<String> operator, final boolean parallel) {
+    if (strs == null) return null;
+    final String[] results = new String[strs.length];
+    forEachIndex(strs.length, parallel, (i) -> results[i] = operator.apply(strs[i]));
+
+    return results;
+  }
+
+  /**
+   * returns a new list of the results of applying the function to each element.
+   *
+   * @param strs the strings, may be null.
+   * @param operator the function to apply to each element, e.g. {@code StringUtils::normalize}.
+   * @param parallel if {@code true}, process in parallel.
+   * @return the results, return null if null list input.
+   */
+  public static List<String> map(final List<String> strs, final UnaryOperator<String> operator, final boolean parallel) {
+    if (strs == null) return null;
+
+    return new ArrayList<>(Arrays.asList(map(toArray(strs), operator, parallel)));
+  }
+
+  /**
+   * returns a stream of the results of applying the function to each element, processed in parallel if the stream is parallel.
+   *
+   * @param strs the strings, may be null.
+   * @param operator the function to apply to each element, e.g. {@code StringUtils::normalize}.
+   * @return the results, return empty if null stream input.
+   */
+  public static Stream<String> map(final Stream<String> strs, final UnaryOperator<String> operator) {
+    if (strs == null) return Stream.empty();
+
+    return strs.map(operator);
+  }
+
+  /**
+   * returns the byte length of each element, encoded by specified charset.
+   *
+   * @param strs the strings, may be null.
+   * @param charset the charset to encode, use default if null.
+   * @param parallel if {@code true}, process in parallel.
+   * @return the byte length of each element, return null if null array input.
+   * @see StringUtils#byteLength(String, Charset)
+   */
+  public static int[] byteLength(final String[] strs, final Charset charset, final boolean parallel) {
+    if (strs == null) return null;
+    final EncodedLength counter = EncodedLength.of(charset);
+    final int[] results = new int[strs.length];
+    forEachIndex(strs.length, parallel, (i) -> results[i] = counter.count(strs[i]));
+
+    return results;
+  }
+
+  /**
+   * returns the byte length of each element, encoded by specified charset.
+   *
+   * @param strs the strings, may be null.
+   * @param charset the charset to encode, use default if null.
+   * @param parallel if {@code true}, process in parallel.
+   * @return the byte length of each element, return null if null list input.
+   * @see StringUtils#byteLength(String, Charset)
+   */
+  public static int[] byteLength(final List<String> strs, final Charset charset, final boolean parallel) {
+    if (strs == null) return null;
+
+    return byteLength(toArray(strs), charset, parallel);
+  }
+
+  /**
+   * returns the byte length of each element, encoded by specified charset.
+   *
+   * @param strs the strings, may be null.
+   * @param charset the charset to encode, use default if null.
+   * @return the byte length of each element, return empty if null stream input.
+   * @see StringUtils#byteLength(String, Charset)
+   */
+  public static IntStream byteLength(final Stream<String> strs, final Charset charset) {
+    if (strs == null) return IntStream.empty();
+    final EncodedLength counter = EncodedLength.of(charset);
+
+    return strs.mapToInt(counter::count);
+  }
+
+  private static String[] toArray(final List<String> strs) {
+    return strs.toArray(new String[strs.size()]);
+  }
+
+  private static void forEachIndex(final int length, final boolean parallel, final IntConsumer action) {
+    if (!parallel || length <= THRESHOLD) {
+      for (int i = 0; i < length; i++) action.accept(i);
+
+      return;
+    }
+    ForkJoinPool.commonPool().invoke(new Chunk(0, length, Math.max(THRESHOLD, length / (ForkJoinPool.getCommonPoolParallelism() * 4)), action));
+  }
+
+  /**
+   * a range of indexes, split in half until it is small enough.
+   */
+  private static final class Chunk extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int begin;
+
+    private final int end;
+
+    private final int threshold;
+
+    private final IntConsumer action;
+
+    private Chunk(final int begin, final int end, final int threshold, final IntConsumer action) {
+      this.begin = begin;
+      this.end = end;
+      this.threshold = threshold;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - begin <= threshold) {
+        for (int i = begin; i < end; i++) action.accept(i);
+
+        return;
+      }
+      final int middle = (begin + end) >>> 1;
+      invokeAll(new Chunk(begin, middle, threshold, action), new Chunk(middle, end, threshold, action));
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * walks the characters once, and splits it into chunks that can fit in the specified number of bytes.
+ * <p>
+ * the byte length is counted for each code point, never split a surrogate pair.
+ * </p>
+ *
+ * @author furplag
+ */
+final class ByteLimitedSplitter implements Iterator<CharSequence> {
+
+  private final CharSequence cs;
+
+  private final int byteLen;
+
+  private final EncodedLength counter;
+
+  private int position;
+
+  /**
+   * @param cs the characters, must not be null.
+   * @param beginIndex the index of character to start from.
+   * @param byteLen the byte length of each chunk, must be positive.
+   * @param charset the charset to encode, use default if null.
+   */
+  ByteLimitedSplitter(final CharSequence cs, final int beginIndex, final int byteLen, final Charset charset) {
+    this.cs = cs;
+    this.byteLen = byteLen;
+    this.counter = EncodedLength.of(charset);
+    this.position = beginIndex;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return position < cs.length();
+  }
+
+  @Override
+  public CharSequence next() {
+    final int begin = position;
+
+    return cs.subSequence(begin, nextBoundary());
+  }
+
+  /**
+   * returns the (exclusive) end index of the next chunk, and moves to there.
+   *
+   * @return the end index of the next chunk.
+   * @exception IllegalArgumentException if a character that is more than <code>byteLen</code> bytes in the string is present
+   */
+  int nextBoundary() {
+    if (!hasNext()) throw new NoSuchElementException();
+    final int length = cs.length();
+    int subLen = 0;
+    int i = position;
+    while (i < length) {
+      final int next = i + (Character.isHighSurrogate(cs.charAt(i)) && i + 1 < length && Character.isLowSurrogate(cs.charAt(i + 1)) ? 2 : 1);
+      final int width = counter.count(cs, i, next);
+      if (width > byteLen) throw new IllegalArgumentException("byteLen too small even for \"" + cs.subSequence(i, next) + "\".");
+      if (subLen + width > byteLen) break;
+      subLen += width;
+      i = next;
+    }
+    position = i;
+
+    return i;
+  }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+/**
+ * a view of the characters by the index of Unicode code points, without copying the characters.
+ * <p>
+ * if the characters contain no surrogate pairs, index of code points is same as index of characters. Otherwise, the positions of surrogate pairs are indexed at first random access.
+ * </p>
+ *
+ * <pre>
+ * CodePointView.of("鮨鮃𩸽鮪").length()            = 4
+ * CodePointView.of("鮨鮃𩸽鮪").codePointAt(2)      = 171581
+ * CodePointView.of("鮨鮃𩸽鮪").subSequence(2, 4)   = "𩸽鮪"
+ * </pre>
+ *
+ * @author furplag
+ */
+public final class CodePointView {
+
+  /** empty. */
+  private static final CodePointView EMPTY = new CodePointView("", 0);
+
+  /** the characters. */
+  private final CharSequence cs;
+
+  /** the number of code points. */
+  private final int length;
+
+  /** char index of the surrogate pairs, null until indexed. */
+  private volatile int[] pairs;
+
+  private CodePointView(final CharSequence cs, final int length) {
+    this.cs = cs;
+    this.length = length;
+  }
+
+  /**
+   * returns a view of the characters.
+   *
+   * @param cs the characters, may be null.
+   * @return a view of the characters, empty if null.
+   */
+  public static CodePointView of(final CharSequence cs) {
+    if (cs == null || cs.length() < 1) return EMPTY;
+
+    return new CodePointView(cs, Character.codePointCount(cs, 0, cs.length()));
+  }
+
+  /**
+   * returns the number of code points.
+   *
+   * @return the number of code points.
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * returns true if the characters contain surrogate pairs.
+   *
+   * @return true if the characters contain surrogate pairs.
+   */
+  public boolean hasSurrogatePairs() {
+    return length < cs.length();
+  }
+
+  /**
+   * returns the code point at the specified index of code points.
+   *
+   * @param index the index of code points.
+   * @return the code point.
+   * @exception IndexOutOfBoundsException if the index is negative or not less than {@link #length()}.
+   */
+  public int codePointAt(final int index) {
+    if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+
+    return Character.codePointAt(cs, offsetOf(index));
+  }
+
+  /**
+   * returns the char index of the specified index of code points.
+   *
+   * @param index the index of code points, {@code 0} to {@link #length()} (inclusive).
+   * @return the char index.
+   * @exception IndexOutOfBoundsException if the index is negative or greater than {@link #length()}.
+   */
+  public int offsetOf(final int index) {
+    if (index < 0 || index > length) throw new IndexOutOfBoundsException("index: " + index + ", length: " + length);
+    if (!hasSurrogatePairs()) return index;
+    final int[] pairs = indexPairs();
+    int low = 0;
+    int high = pairs.length;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (pairs[mid] - mid < index) low = mid + 1;
+      else high = mid;
+    }
+
+    return index + low;
+  }
+
+  /**
+   * returns a subsequence of the characters by the index of code points.
+   *
+   * @param beginIndex the beginning index of code points, inclusive.
+   * @param endIndex the ending index of code points, exclusive.
+   * @return the subsequence.
+   * @exception IndexOutOfBoundsException if the indexes are out of range.
+   */
+  public CharSequence subSequence(final int beginIndex, final int endIndex) {
+    if (beginIndex > endIndex) throw new IndexOutOfBoundsException("begin: " + beginIndex + ", end: " + endIndex);
+
+    return cs.subSequence(offsetOf(beginIndex), offsetOf(endIndex));
+  }
+
+  /**
+   * returns the Array of Unicode code points.
+   *
+   * @return Array of code points.
+   */
+  public int[] toArray() {
+    final int[] codePoints = new int[length];
+    for (int i = 0, offset = 0; i < length; i++) {
+      codePoints[i] = Character.codePointAt(cs, offset);
+      offset += Character.charCount(codePoints[i]);
+    }
+
+    return codePoints;
+  }
+
+  @Override
+  public String toString() {
+    return cs.toString();
+  }
+
+  private int[] indexPairs() {
+    int[] indexed = pairs;
+    if (indexed != null) return indexed;
+    indexed = new int[cs.length() - length];
+    for (int i = 0, index = 0; index < indexed.length; i++) {
+      if (Character.isHighSurrogate(cs.charAt(i)) && Character.isLowSurrogate(cs.charAt(i + 1))) indexed[index++] = i++;
+    }
+    pairs = indexed;
+
+    return indexed;
+  }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * counts the number of bytes that a sequence of characters would be encoded into, without encoding it.
+ * <p>
+ * the result is equal to {@code String.getBytes(charset).length}, unmappable or malformed characters are counted as the length of the replacement.
+ * </p>
+ *
+ * @author furplag
+ */
+abstract class EncodedLength {
+
+  /** UTF-8, computed arithmetically. */
+  static final EncodedLength UTF_8 = new EncodedLength() {
+    @Override
+    int count(final CharSequence cs, final int beginIndex, final int endIndex) {
+      int len = 0;
+      for (int i = beginIndex; i < endIndex; i++) {
+        char c = cs.charAt(i);
+        if (c < 0x80) len++;
+        else if (c < 0x800) len += 2;
+        else if (!Character.isSurrogate(c)) len += 3;
+        else if (Character.isHighSurrogate(c) && i + 1 < endIndex && Character.isLowSurrogate(cs.charAt(i + 1))) {
+          len += 4;
+          i++;
+        } else len++;
+      }
+
+      return len;
+    }
+  };
+
+  /** UTF-16BE and UTF-16LE, two bytes for each character. */
+  static final EncodedLength UTF_16_WITHOUT_BOM = new EncodedLength() {
+    @Override
+    int count(final CharSequence cs, final int beginIndex, final int endIndex) {
+      return (endIndex - beginIndex) * 2;
+    }
+  };
+
+  /** UTF-16, two bytes for each character and a byte order mark. */
+  static final EncodedLength UTF_16 = new EncodedLength() {
+    @Override
+    int count(final CharSequence cs, final int beginIndex, final int endIndex) {
+      return endIndex > beginIndex ? (endIndex - beginIndex + 1) * 2 : 0;
+    }
+  };
+
+  /** US-ASCII and ISO-8859-1, one byte for each code point. */
+  static final EncodedLength SINGLE_BYTE = new EncodedLength() {
+    @Override
+    int count(final CharSequence cs, final int beginIndex, final int endIndex) {
+      int len = endIndex - beginIndex;
+      for (int i = beginIndex; i < endIndex - 1; i++) {
+        if (Character.isHighSurrogate(cs.charAt(i)) && Character.isLowSurrogate(cs.charAt(i + 1))) {
+          len--;
+          i++;
+        }
+      }
+
+      return len;
+    }
+  };
+
+  /** Japanese multi-byte charsets, which are able to compute from a width table of BMP. */
+  private static final String[] TABLE_DRIVEN = {"Shift_JIS", "windows-31j", "EUC-JP"};
+
+  /** encoders for each charset. */
+  private static final Map<Charset, EncodedLength> CACHE = new ConcurrentHashMap<>();
+
+  static {
+    CACHE.put(StandardCharsets.UTF_8, UTF_8);
+    CACHE.put(StandardCharsets.UTF_16, UTF_16);
+    CACHE.put(StandardCharsets.UTF_16BE, UTF_16_WITHOUT_BOM);
+    CACHE.put(StandardCharsets.UTF_16LE, UTF_16_WITHOUT_BOM);
+    CACHE.put(StandardCharsets.US_ASCII, SINGLE_BYTE);
+    CACHE.put(StandardCharsets.ISO_8859_1, SINGLE_BYTE);
+  }
+
+  /**
+   * returns the counter for specified charset.
+   *
+   * @param charset the charset, use default if null.
+   * @return the counter.
+   */
+  static EncodedLength of(final Charset charset) {
+    final Charset cs = charset == null ? Charset.defaultCharset() : charset;
+    EncodedLength counter = CACHE.get(cs);
+    if (counter != null) return counter;
+
+    return CACHE.computeIfAbsent(cs, k -> isTableDriven(k) ? new WidthTable(k) : new Encoding(k));
+  }
+
+  private static boolean isTableDriven(final Charset charset) {
+    for (String name : TABLE_DRIVEN) {
+      if (charset.name().equalsIgnoreCase(name)) return charset.canEncode();
+    }
+
+    return false;
+  }
+
+  /**
+   * returns the byte length of specified range of the characters.
+   *
+   * @param cs the characters, must not be null.
+   * @param beginIndex the beginning index, inclusive.
+   * @param endIndex the ending index, exclusive.
+   * @return the byte length.
+   */
+  abstract int count(CharSequence cs, int beginIndex, int endIndex);
+
+  /**
+   * returns the byte length of the characters.
+   *
+   * @param cs the characters, may be null.
+   * @return the byte length.
+   */
+  final int count(final CharSequence cs) {
+    return cs == null ? 0 : count(cs, 0, cs.length());
+  }
+
+  private static CharsetEncoder newEncoder(final Charset charset) {
+    return charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  /**
+   * stateless multi-byte charsets, looks up the width of each character from a table built at first use.
+   */
+  private static final class WidthTable extends EncodedLength {
+
+    private final byte[] widths = new byte[Character.MAX_VALUE + 1];
+
+    private final int supplementary;
+
+    private WidthTable(final Charset charset) {
+      final CharsetEncoder encoder = newEncoder(charset);
+      final ByteBuffer out = ByteBuffer.allocate(16);
+      final char[] c = new char[2];
+      for (int i = 0; i <= Character.MAX_VALUE; i++) {
+        c[0] = (char) i;
+        widths[i] = (byte) encode(encoder, CharBuffer.wrap(c, 0, 1), out);
+      }
+      c[0] = Character.highSurrogate(Character.MIN_SUPPLEMENTARY_CODE_POINT);
+      c[1] = Character.lowSurrogate(Character.MIN_SUPPLEMENTARY_CODE_POINT);
+      supplementary = encode(encoder, CharBuffer.wrap(c), out);
+    }
+
+    private static int encode(final CharsetEncoder encoder, final CharBuffer in, final ByteBuffer out) {
+      encoder.reset();
+      out.clear();
+      encoder.encode(in, out, true);
+      encoder.flush(out);
+
+      return out.position();
+    }
+
+    @Override
+    int count(final CharSequence cs, final int beginIndex, final int endIndex) {
+      int len = 0;
+      for (int i = beginIndex; i < endIndex; i++) {
+        char c = cs.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < endIndex && Character.isLowSurrogate(cs.charAt(i + 1))) {
+          len += supplementary;
+          i++;
+        } else len += widths[c];
+      }
+
+      return len;
+    }
+  }
+
+  /**
+   * the other charsets, counts the bytes actually encoded with the encoder reused per thread.
+   */
+  private static final class Encoding extends EncodedLength {
+
+    private static final ThreadLocal<Map<Charset, CharsetEncoder>> ENCODERS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ThreadLocal<ByteBuffer> BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocate(1024));
+
+    private final Charset charset;
+
+    private Encoding(final Charset charset) {
+      this.charset = charset;
+    }
+
+    @Override
+    int count(final CharSequence cs, final int beginIndex, final int endIndex) {
+      if (beginIndex >= endIndex) return 0;
+      final CharsetEncoder encoder = ENCODERS.get().computeIfAbsent(charset, EncodedLength::newEncoder).reset();
+      final ByteBuffer out = BUFFER.get();
+      final CharBuffer in = CharBuffer.wrap(cs, beginIndex, endIndex);
+      int len = 0;
+      CoderResult result;
+      do {
+        out.clear();
+        result = encoder.encode(in, out, true);
+        len += out.position();
+      } while (result.isOverflow());
+      do {
+        out.clear();
+        result = encoder.flush(out);
+        len += out.position();
+      } while (result.isOverflow());
+
+      return len;
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.text.Normalizer;
+import java.util.BitSet;
+
+/**
+ * converts Japanese Kana by the ranges of code points, and the tables derived from Unicode normalization at initialization.
+ *
+ * @author furplag
+ */
+final class KanaConverter {
+
+  /** the distance between Hiragana and Katakana. */
+  private static final int DISTANCE = 0x60;
+
+  /** Kana which has voiced form. */
+  private static final BitSet VOICEABLE = new BitSet();
+
+  /** Kana which has semi-voiced form. */
+  private static final BitSet SEMI_VOICEABLE = new BitSet();
+
+  /** half-width forms of the characters in U+3000 - U+30FF. */
+  private static final String[] HALFWIDTH = new String[0x100];
+
+  static {
+    for (char c = 0x3040; c < 0x3100; c++) initializeVoiceable(c);
+    for (char c = 0xFF61; c < 0xFFA0; c++) initializeVoiceable(c);
+    for (char c = 0xFF61; c < 0xFFA0; c++) initializeHalfwidth(String.valueOf(c));
+    for (char c = 0xFF61; c < 0xFFA0; c++) {
+      initializeHalfwidth(new String(new char[]{c, '\uFF9E'}));
+      initializeHalfwidth(new String(new char[]{c, '\uFF9F'}));
+    }
+  }
+
+  private static void initializeVoiceable(final char c) {
+    if (Normalizer.normalize(new String(new char[]{c, '\u3099'}), Normalizer.Form.NFKC).length() == 1) VOICEABLE.set(c);
+    if (Normalizer.normalize(new String(new char[]{c, '\u309A'}), Normalizer.Form.NFKC).length() == 1) SEMI_VOICEABLE.set(c);
+  }
+
+  private static void initializeHalfwidth(final String halfwidth) {
+    final String fullwidth = Normalizer.normalize(halfwidth, Normalizer.Form.NFKC);
+    if (fullwidth.length() != 1 || fullwidth.charAt(0) < 0x3000 || fullwidth.charAt(0) > 0x30FF) return;
+    if (HALFWIDTH[fullwidth.charAt(0) - 0x3000] == null) HALFWIDTH[fullwidth.charAt(0) - 0x3000] = halfwidth;
+  }
+
+  /**
+   * KanaConverter instances should NOT be constructed in standard programming.
+   */
+  private KanaConverter() {}
+
+  /**
+   * replaces spacing voiced sound marks (U+309B, U+309C) after Kana with the combining ones, so that NFKC composes them.
+   *
+   * @param str the string, must not be null.
+   * @return the string, or str itself if nothing to change.
+   */
+  static String combineVoicedMarks(final String str) {
+    char[] chars = null;
+    for (int i = 1; i < str.length(); i++) {
+      final char c = str.charAt(i);
+      final char combining = c == '\u309B' && VOICEABLE.get(str.charAt(i - 1)) ? '\u3099' : c == '\u309C' && SEMI_VOICEABLE.get(str.charAt(i - 1)) ? '\u309A' : c;
+      if (combining == c) continue;
+      if (chars == null) chars = str.toCharArray();
+      chars[i] = combining;
+    }
+
+    return chars == null ? str : new String(chars);
+  }
+
+  /**
+   * converts Hiragana to Katakana.
+   *
+   * @param str the string, must not be null.
+   * @return the string, or str itself if nothing to change.
+   */
+  static String toKatakana(final String str) {
+    char[] chars = null;
+    for (int i = 0; i < str.length(); i++) {
+      final char c = str.charAt(i);
+      if (!isHiragana(c)) continue;
+      if (chars == null) chars = str.toCharArray();
+      chars[i] = (char) (c + DISTANCE);
+    }
+
+    return chars == null ? str : new String(chars);
+  }
+
+  /**
+   * converts Katakana to Hiragana.
+   *
+   * @param str the string, must not be null.
+   * @return the string, or str itself if nothing to change.
+   */
+  static String toHiragana(final String str) {
+    char[] chars = null;
+    for (int i = 0; i < str.length(); i++) {
+      final char c = str.charAt(i);
+      if (!isKatakana(c)) continue;
+      if (chars == null) chars = str.toCharArray();
+      chars[i] = (char) (c - DISTANCE);
+    }
+
+    return chars == null ? str : new String(chars);
+  }
+
+  /**
+   * converts Hiragana and Katakana to half-width Katakana, the characters which have no half-width form are kept.
+   *
+   * @param str the string, must not be null.
+   * @return the string, or str itself if nothing to change.
+   */
+  static String toHalfwidthKatakana(final String str) {
+    StringBuilder sb = null;
+    for (int i = 0; i < str.length(); i++) {
+      final char c = str.charAt(i);
+      final char katakana = isHiragana(c) ? (char) (c + DISTANCE) : c;
+      final String halfwidth = katakana < 0x3000 || katakana > 0x30FF ? null : HALFWIDTH[katakana - 0x3000];
+      if (sb == null) {
+        if (halfwidth == null && katakana == c) continue;
+        sb = ScratchBuffer.get(str.length() * 2).append(str, 0, i);
+      }
+      if (halfwidth == null) sb.append(katakana);
+      else sb.append(halfwidth);
+    }
+
+    return sb == null ? str : sb.toString();
+  }
+
+  /**
+   * Hiragana which has the Katakana form (U+3041 - U+3096, U+309D - U+309E).
+   *
+   * @param c the character.
+   * @return true if the character is Hiragana.
+   */
+  private static boolean isHiragana(final char c) {
+    return (c >= 'ぁ' && c <= 'ゖ') || c == 'ゝ' || c == 'ゞ';
+  }
+
+  /**
+   * Katakana which has the Hiragana form (U+30A1 - U+30F6, U+30FD - U+30FE).
+   *
+   * @param c the character.
+   * @return true if the character is Katakana.
+   */
+  private static boolean isKatakana(final char c) {
+    return (c >= 'ァ' && c <= 'ヶ') || c == 'ヽ' || c == 'ヾ';
+  }
+}
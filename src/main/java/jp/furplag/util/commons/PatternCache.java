@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import java.util.regex.Pattern;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * a bounded cache of compiled regular expressions, least recently used patterns are evicted.
+ *
+ * @author furplag
+ */
+public final class PatternCache {
+
+  /** the maximum number of patterns to keep. */
+  public static final int MAXIMUM_SIZE = 256;
+
+  // @formatter:off
+  private static final Cache<String, Pattern> CACHE =
+    CacheBuilder.newBuilder()
+      .maximumSize(MAXIMUM_SIZE)
+      .recordStats()
+      .build();
+  // @formatter:on
+
+  /**
+   * PatternCache instances should NOT be constructed in standard programming.
+   */
+  private PatternCache() {}
+
+  /**
+   * returns the compiled pattern of the regular expression, compile it only if not cached.
+   *
+   * @param regex the regular expression, must not be null.
+   * @return the compiled pattern.
+   * @throws java.util.regex.PatternSyntaxException if the expression's syntax is invalid.
+   */
+  public static Pattern compile(final String regex) {
+    Pattern pattern = CACHE.getIfPresent(regex);
+    if (pattern == null) {
+      pattern = Pattern.compile(regex);
+      CACHE.put(regex, pattern);
+    }
+
+    return pattern;
+  }
+
+  /**
+   * returns the statistics of hits and misses.
+   *
+   * @return {@link CacheStats}.
+   */
+  public static CacheStats stats() {
+    return CACHE.stats();
+  }
+
+  /**
+   * returns the number of cached patterns.
+   *
+   * @return the number of cached patterns.
+   */
+  public static long size() {
+    return CACHE.size();
+  }
+
+  /**
+   * discards all cached patterns.
+   */
+  public static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+}
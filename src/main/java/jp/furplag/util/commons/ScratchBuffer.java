@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+/**
+ * a {@link StringBuilder} reused per thread, for building a string at once.
+ * <p>
+ * the buffer is cleared at each {@link #get(int)}, so that never use it across the calls of the other methods which may use it.
+ * </p>
+ *
+ * @author furplag
+ */
+final class ScratchBuffer {
+
+  /** the buffer larger than this is not kept. */
+  static final int MAXIMUM_CAPACITY = 8192;
+
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  /**
+   * ScratchBuffer instances should NOT be constructed in standard programming.
+   */
+  private ScratchBuffer() {}
+
+  /**
+   * returns the empty buffer of this thread, or a new one if the capacity is too large to keep.
+   *
+   * @param capacity the minimum capacity.
+   * @return the empty buffer.
+   */
+  static StringBuilder get(final int capacity) {
+    if (capacity > MAXIMUM_CAPACITY) return new StringBuilder(capacity);
+    final StringBuilder sb = BUFFER.get();
+    sb.setLength(0);
+    sb.ensureCapacity(capacity);
+
+    return sb;
+  }
+}
@@ -15,13 +15,24 @@
  */
 package jp.furplag.util.commons;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.text.Normalizer;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * @see org.apache.commons.lang3.StringUtils
@@ -53,13 +64,28 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return the byte length of this string.
    */
   public static int byteLength(final String str) {
-    int[] codePoints = getCodePoints(str);
-    int len = 0;
-    for (int codePoint : codePoints) {
-      len += new StringBuilder(16).appendCodePoint(codePoint).toString().getBytes(Charset.defaultCharset()).length;
-    }
+    return byteLength(str, Charset.defaultCharset());
+  }
 
-    return len;
+  /**
+   * returns the byte length of this string, encoded by specified charset.
+   *
+   * <pre>
+   * StringUtils.byteLength(null, *)                             = 0
+   * StringUtils.byteLength("", *)                               = 0
+   * StringUtils.byteLength("X", StandardCharsets.UTF_8)         = 1
+   * StringUtils.byteLength("髭", StandardCharsets.UTF_8)         = 3
+   * StringUtils.byteLength("𩸽", StandardCharsets.UTF_8)         = 4
+   * StringUtils.byteLength("髭", Charset.forName("Shift_JIS"))  = 2
+   * StringUtils.byteLength("X", StandardCharsets.UTF_16)        = 4 (with BOM)
+   * </pre>
+   *
+   * @param str the string, may be null.
+   * @param charset the charset to encode, use default if null.
+   * @return the byte length of this string, same as {@code str.getBytes(charset).length}.
+   */
+  public static int byteLength(final String str, final Charset charset) {
+    return EncodedLength.of(charset).count(str);
   }
 
   /**
@@ -69,7 +95,21 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return the lower case string, with whitespace and full-width space omitted.
    */
   public static String flatten(final String str) {
-    return trim(str, true).toLowerCase().replaceAll("\\s", "");
+    if (str == null) return "";
+    int begin = 0;
+    int end = str.length();
+    while (begin < end && isTrimmable(str.charAt(begin))) begin++;
+    while (end > begin && isTrimmable(str.charAt(end - 1))) end--;
+    int i = begin;
+    while (i < end && !isBlankChar(str.charAt(i))) i++;
+    if (i == end) return (begin == 0 && end == str.length() ? str : str.substring(begin, end)).toLowerCase();
+    final StringBuilder sb = ScratchBuffer.get(end - begin).append(str, begin, i);
+    for (; i < end; i++) {
+      final char c = str.charAt(i);
+      if (!isBlankChar(c)) sb.append(c);
+    }
+
+    return sb.toString().toLowerCase();
   }
 
   /**
@@ -79,15 +119,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return Array of codepoints.
    */
   public static int[] getCodePoints(final String str) {
-    char[] chars = defaultString(str).toCharArray();
-    int[] ret = new int[Character.codePointCount(chars, 0, chars.length)];
-    int index = 0;
-    for (int i = 0, codePoint; i < chars.length; i += Character.charCount(codePoint)) {
-      codePoint = Character.codePointAt(chars, i);
-      ret[index++] = codePoint;
-    }
-
-    return ret;
+    return CodePointView.of(str).toArray();
   }
 
   /**
@@ -105,7 +137,32 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return return true if the String is null, empty, newline or whitespace.
    */
   public static boolean isSimilarToBlank(final String str) {
-    return defaultString(str).replaceAll("[\\s\\r\\n\\t　]", "").length() == 0;
+    if (str == null) return true;
+    for (int i = 0; i < str.length(); i++) {
+      if (!isBlankChar(str.charAt(i))) return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * whitespace ({@code \s}) or full-width space.
+   *
+   * @param c the character.
+   * @return true if the character is whitespace or full-width space.
+   */
+  private static boolean isBlankChar(final char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r' || c == '\u3000';
+  }
+
+  /**
+   * the character which {@link String#trim()} removes, or full-width space.
+   *
+   * @param c the character.
+   * @return true if the character is removed in trimming.
+   */
+  private static boolean isTrimmable(final char c) {
+    return c <= ' ' || c == '\u3000';
   }
 
   /**
@@ -157,22 +214,96 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    */
   public static String joinExcludesBlank(final Object[] array, final String separator, final int beginIndex, final int endIndex) {
     if (array == null) return null;
-    int end = (endIndex < 0 ? array.length : 0) + endIndex;
-    if (end > array.length) end = array.length;
-    if (end < 0) end = 0;
-    int begin = (beginIndex < 0 ? array.length : 0) + beginIndex;
-    if (begin < 0) begin = 0;
+    final int end = toIndex(array.length, endIndex);
+    final int begin = toIndex(array.length, beginIndex);
     if (begin >= end) return "";
-    final StringBuilder sb = new StringBuilder((end - begin) * 16);
+    try {
+      return appendExcludesBlank(new StringBuilder(exactLength(array, separator, begin, end)), array, separator, begin, end).toString();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * joins the elements of the provided array, and writes them directly to the {@link Appendable} (e.g. {@link java.io.Writer}).
+   *
+   * <pre>
+   * StringUtils.joinExcludesBlank(sb, null, *, *, *)                 = sb
+   * StringUtils.joinExcludesBlank(sb, ["a", "", null, "c"], ';', 0, 4) = sb.append("a;c")
+   * </pre>
+   *
+   * @param appendable the destination, must not be null.
+   * @param array the array of values to join together, may be null.
+   * @param separator the separator character to use.
+   * @param beginIndex the first index to start joining from.
+   * @param endIndex the index to stop joining from (exclusive).
+   * @return the appendable.
+   * @throws IOException if an I/O error occurs.
+   * @see #joinExcludesBlank(Object[], String, int, int)
+   */
+  public static <A extends Appendable> A joinExcludesBlank(final A appendable, final Object[] array, final String separator, final int beginIndex, final int endIndex) throws IOException {
+    if (array == null) return appendable;
+
+    return appendExcludesBlank(appendable, array, separator, toIndex(array.length, beginIndex), toIndex(array.length, endIndex));
+  }
+
+  /**
+   * returns a {@link Collector} that joins the elements which is not blank, in encounter order.
+   *
+   * <pre>
+   * Stream.of("a", "", null, "c").collect(StringUtils.joiningExcludesBlank(";")) = "a;c"
+   * </pre>
+   *
+   * @param separator the separator character to use.
+   * @return a {@link Collector}.
+   * @see #joinExcludesBlank(Object[], String)
+   */
+  public static Collector<Object, ?, String> joiningExcludesBlank(final String separator) {
+    final String delimiter = defaultString(separator);
+
+    return Collector.of(() -> new StringJoiner(delimiter), (joiner, o) -> {
+      final CharSequence cs = toCharSequence(o);
+      if (!isBlank(cs)) joiner.add(cs);
+    }, StringJoiner::merge, StringJoiner::toString);
+  }
+
+  private static int toIndex(final int length, final int index) {
+    final int resolved = (index < 0 ? length : 0) + index;
+
+    return resolved < 0 ? 0 : resolved > length ? length : resolved;
+  }
+
+  private static CharSequence toCharSequence(final Object o) {
+    return o instanceof CharSequence ? (CharSequence) o : Objects.toString(o, "");
+  }
+
+  /**
+   * returns the exact length of the joined string if all elements are {@link CharSequence}, otherwise the number of elements times 16.
+   */
+  private static int exactLength(final Object[] array, final String separator, final int begin, final int end) {
+    int length = 0;
+    int count = 0;
     for (int i = begin; i < end; i++) {
-      if (!isBlank(Objects.toString(array[i], ""))) {
-        sb
-          .append(i > begin && sb.length() > 0 ? defaultString(separator) : "")
-          .append(array[i]);
-      }
+      if (array[i] != null && !(array[i] instanceof CharSequence)) return (end - begin) * 16;
+      if (isBlank((CharSequence) array[i])) continue;
+      length += ((CharSequence) array[i]).length();
+      count++;
     }
 
-    return sb.toString();
+    return length + (count < 2 ? 0 : (count - 1) * defaultString(separator).length());
+  }
+
+  private static <A extends Appendable> A appendExcludesBlank(final A appendable, final Object[] array, final String separator, final int begin, final int end) throws IOException {
+    boolean appended = false;
+    for (int i = begin; i < end; i++) {
+      final CharSequence cs = toCharSequence(array[i]);
+      if (isBlank(cs)) continue;
+      if (appended && separator != null) appendable.append(separator);
+      appendable.append(cs);
+      appended = true;
+    }
+
+    return appendable;
   }
 
   /**
@@ -195,7 +326,7 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return the length of the sequence of characters represented by this object.
    */
   public static int length(final String str) {
-    return getCodePoints(str).length;
+    return str == null ? 0 : str.codePointCount(0, str.length());
   }
 
   /**
@@ -226,7 +357,55 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return normalized string.
    */
   public static String normalize(final String str, final boolean emptyToBlank) {
-    return isSimilarToBlank(str) && !emptyToBlank ? null : Normalizer.normalize(defaultString(str), Normalizer.Form.NFKC).replaceAll("[\\s\\t　]+", " ").replaceAll("[‐－―−]", "-").trim();
+    if (isSimilarToBlank(str)) return emptyToBlank ? "" : null;
+
+    return squeeze(isNormalized(str) ? str : Normalizer.normalize(str, Normalizer.Form.NFKC), true);
+  }
+
+  /**
+   * {@link #normalize(String, boolean)} with memoization, for repeated short values (e.g. names of prefecture, or company).
+   * <p>
+   * strings up to 64 characters are cached, the cache is created at first use.
+   * </p>
+   *
+   * @param str the string, may be null.
+   * @param emptyToBlank if true, return empty String ("") if the String is null, whitespace, full-width space, empty, newline or whitespace
+   * @return normalized string.
+   */
+  public static String normalizeCached(final String str, final boolean emptyToBlank) {
+    if (isSimilarToBlank(str)) return emptyToBlank ? "" : null;
+    if (str.length() > NormalizedCache.MAXIMUM_LENGTH) return normalize(str, emptyToBlank);
+    String normalized = NormalizedCache.CACHE.getIfPresent(str);
+    if (normalized == null) {
+      normalized = normalize(str, emptyToBlank);
+      NormalizedCache.CACHE.put(str, normalized);
+    }
+
+    return normalized;
+  }
+
+  /**
+   * returns true if NFKC normalization is not needed.
+   *
+   * @param str the string, must not be null.
+   * @return true if the string is ASCII only, or already normalized.
+   */
+  private static boolean isNormalized(final String str) {
+    for (int i = 0; i < str.length(); i++) {
+      if (str.charAt(i) > 0x7F) return Normalizer.isNormalized(str, Normalizer.Form.NFKC);
+    }
+
+    return true;
+  }
+
+  /**
+   * dash variants, which normalize to hyphen-minus.
+   *
+   * @param c the character.
+   * @return true if the character is one of "‐－―−".
+   */
+  private static boolean isDash(final char c) {
+    return c == '\u2010' || c == '\uFF0D' || c == '\u2015' || c == '\u2212';
   }
 
   /**
@@ -244,20 +423,44 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return Normalize a String with Japanese Kana Convert.
    */
   public static String normalizeKana(final String str, final boolean hiraToKata) {
+    return normalizeKana(str, hiraToKata ? KanaForm.KATAKANA : KanaForm.HIRAGANA, false);
+  }
+
+  /**
+   * normalize a String with Japanese Kana Convert.
+   *
+   * <pre>
+   * StringUtils.normalizeKana(null, *, *) = null
+   * StringUtils.normalizeKana("ｱｲｳカキク", KanaForm.HIRAGANA, *) = "あいうかきく"
+   * StringUtils.normalizeKana("ｱｲｳかきく", KanaForm.KATAKANA, *) = "アイウカキク"
+   * StringUtils.normalizeKana("アイウガギグ", KanaForm.HALFWIDTH_KATAKANA, *) = "ｱｲｳｶﾞｷﾞｸﾞ"
+   * StringUtils.normalizeKana("か゛き゛", KanaForm.HIRAGANA, true) = "がぎ"
+   * </pre>
+   *
+   * @param str the string, may be null.
+   * @param form the form of Kana to convert into, only normalize if null.
+   * @param composeVoicedMarks if {@code true}, compose spacing voiced sound marks (゛゜) with the previous Kana.
+   * @return Normalize a String with Japanese Kana Convert.
+   */
+  public static String normalizeKana(final String str, final KanaForm form, final boolean composeVoicedMarks) {
     if (isSimilarToBlank(str)) return null;
-    String temporary = normalize(str);
-    Pattern pattern = Pattern.compile(hiraToKata ? "[\u3040-\u309F]" : "[\u30A0-\u30FF]");
-    StringBuilder sb = new StringBuilder(temporary.length() * 16);
-    for (int i = 0; i < temporary.length(); i++) {
-      String s = temporary.substring(i, i + 1);
-      sb.append(pattern.matcher(s).matches() ? new String(new int[] { s.codePointAt(0) + (hiraToKata ? 96 : -96) }, 0, 1) : s);
+    final String temporary = normalize(composeVoicedMarks ? KanaConverter.combineVoicedMarks(str) : str);
+    if (form == null) return temporary;
+    switch (form) {
+      case HIRAGANA:
+        return KanaConverter.toHiragana(temporary);
+      case KATAKANA:
+        return KanaConverter.toKatakana(temporary);
+      default:
+        return KanaConverter.toHalfwidthKatakana(temporary);
     }
-
-    return sb.toString();
   }
 
   /**
    * java.lang.String.replaceAll against null.
+   * <p>
+   * the compiled pattern is cached in {@link PatternCache}.
+   * </p>
    *
    * @param str the string, may be null.
    * @param regex the regular expression to which this string is to be matched.
@@ -265,14 +468,31 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return the resulting String.
    */
   public static String replaceAll(final String str, final String regex, final String replacement) {
-    if (isSimilarToBlank(str)) return str;
     if (isBlank(regex)) return str;
 
-    return str.replaceAll(regex, defaultString(replacement));
+    return replaceAllMatches(str, isSimilarToBlank(str) ? null : PatternCache.compile(regex), replacement);
+  }
+
+  /**
+   * java.lang.String.replaceAll against null, with the compiled pattern.
+   *
+   * @param str the string, may be null.
+   * @param pattern the compiled regular expression to which this string is to be matched.
+   * @param replacement the string to be substituted for each match.
+   * @return the resulting String.
+   */
+  public static String replaceAllMatches(final String str, final Pattern pattern, final String replacement) {
+    if (isSimilarToBlank(str)) return str;
+    if (pattern == null) return str;
+
+    return pattern.matcher(str).replaceAll(defaultString(replacement));
   }
 
   /**
    * replaces the last substring of this string that matches the given regular expression with the given replacement.
+   * <p>
+   * the regular expression is compiled in {@link Pattern#DOTALL} mode, and cached in {@link PatternCache}.
+   * </p>
    *
    * @param str the string, may be null.
    * @param regex the regular expression to which this string is to be matched.
@@ -280,10 +500,36 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return the resulting String.
    */
   public static String replaceLast(final String str, final String regex, final String replacement) {
-    if (isSimilarToBlank(str)) return str;
     if (isBlank(regex)) return str;
 
-    return str.replaceFirst("(?s)(.*)" + defaultString(regex), "$1" + defaultString(replacement));
+    return replaceLastMatch(str, isSimilarToBlank(str) ? null : PatternCache.compile("(?s)" + regex), replacement);
+  }
+
+  /**
+   * replaces the last substring of this string that matches the given compiled regular expression with the given replacement.
+   * <p>
+   * the last match is the one that begins at the last position where the pattern matches, even if it overlaps the previous match.
+   * </p>
+   *
+   * @param str the string, may be null.
+   * @param pattern the compiled regular expression to which this string is to be matched.
+   * @param replacement the string to be substituted for each match.
+   * @return the resulting String.
+   */
+  public static String replaceLastMatch(final String str, final Pattern pattern, final String replacement) {
+    if (isSimilarToBlank(str)) return str;
+    if (pattern == null) return str;
+    final Matcher matcher = pattern.matcher(str);
+    int last = -1;
+    for (int from = 0; from <= str.length() && matcher.find(from); from = matcher.start() + 1) {
+      last = matcher.start();
+    }
+    if (last < 0) return str;
+    matcher.find(last);
+    final StringBuffer sb = new StringBuffer(str.length() + 16);
+    matcher.appendReplacement(sb, defaultString(replacement));
+
+    return matcher.appendTail(sb).toString();
   }
 
   /**
@@ -304,16 +550,89 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return array of strings that can fit in the specified number of bytes in the <code>byteLen</code>
    */
   public static String[] splitUBL(final String str, final int byteLen) {
-    String temporary = defaultString(str);
-    List<String> splits = new ArrayList<String>();
-    if (byteLen > 0) {
-      for (int i = 0, next = 0; i < getCodePoints(temporary).length; i += next) {
-        splits.add(substringUBL(temporary, i, byteLen));
-        next = length(splits.get(splits.size() - 1));
-      }
+    return splitUBL(str, byteLen, Charset.defaultCharset());
+  }
+
+  /**
+   * return Array of strings that can fit in the specified number of bytes in the <code>byteLen</code>, encoded by specified charset.
+   *
+   * @param str the string, may be null.
+   * @param byteLen the byte length to end at (exclusive), return empty if negative.
+   * @param charset the charset to encode, use default if null.
+   * @return array of strings that can fit in the specified number of bytes in the <code>byteLen</code>
+   * @exception IllegalArgumentException if a character that is more than <code>byteLen</code> bytes in the string is present
+   */
+  public static String[] splitUBL(final String str, final int byteLen, final Charset charset) {
+    final String temporary = defaultString(str);
+    final int[] boundaries = splitIndicesUBL(temporary, byteLen, charset);
+    final String[] splits = new String[boundaries.length < 1 ? 0 : boundaries.length - 1];
+    for (int i = 0; i < splits.length; i++) {
+      splits[i] = temporary.substring(boundaries[i], boundaries[i + 1]);
+    }
+
+    return splits;
+  }
+
+  /**
+   * returns the boundaries of chunks that can fit in the specified number of bytes in the <code>byteLen</code>.
+   * <p>
+   * the chunk {@code n} begins at {@code boundaries[n]} and ends at {@code boundaries[n + 1]} (exclusive), as char index of the sequence.
+   * </p>
+   *
+   * <pre>
+   * StringUtils.splitIndicesUBL(null, *, *)  = []
+   * StringUtils.splitIndicesUBL("", *, *)    = []
+   * StringUtils.splitIndicesUBL("abc", 0, *) = []
+   * StringUtils.splitIndicesUBL("abc", 2, *) = [0, 2, 3]
+   * </pre>
+   *
+   * @param cs the characters, may be null.
+   * @param byteLen the byte length to end at (exclusive), return empty if negative.
+   * @param charset the charset to encode, use default if null.
+   * @return the boundaries of chunks.
+   * @exception IllegalArgumentException if a character that is more than <code>byteLen</code> bytes in the string is present
+   */
+  public static int[] splitIndicesUBL(final CharSequence cs, final int byteLen, final Charset charset) {
+    if (cs == null || cs.length() < 1 || byteLen < 1) return new int[]{};
+    final ByteLimitedSplitter splitter = new ByteLimitedSplitter(cs, 0, byteLen, charset);
+    int[] boundaries = new int[Math.min(cs.length(), 15) + 1];
+    int index = 1;
+    while (splitter.hasNext()) {
+      if (index == boundaries.length) boundaries = Arrays.copyOf(boundaries, Math.min(boundaries.length * 2, cs.length() + 1));
+      boundaries[index++] = splitter.nextBoundary();
     }
 
-    return splits.toArray(new String[splits.size()]);
+    return index < boundaries.length ? Arrays.copyOf(boundaries, index) : boundaries;
+  }
+
+  /**
+   * returns lazy iterator of chunks that can fit in the specified number of bytes in the <code>byteLen</code>.
+   * <p>
+   * each chunk is a {@link CharSequence#subSequence(int, int)} of the characters, and computed on demand.
+   * </p>
+   *
+   * @param cs the characters, may be null.
+   * @param byteLen the byte length to end at (exclusive), return empty if negative.
+   * @param charset the charset to encode, use default if null.
+   * @return iterator of chunks.
+   */
+  public static Iterator<CharSequence> iterateUBL(final CharSequence cs, final int byteLen, final Charset charset) {
+    if (cs == null || byteLen < 1) return Collections.emptyIterator();
+
+    return new ByteLimitedSplitter(cs, 0, byteLen, charset);
+  }
+
+  /**
+   * returns lazy stream of chunks that can fit in the specified number of bytes in the <code>byteLen</code>.
+   *
+   * @param cs the characters, may be null.
+   * @param byteLen the byte length to end at (exclusive), return empty if negative.
+   * @param charset the charset to encode, use default if null.
+   * @return stream of chunks.
+   * @see #iterateUBL(CharSequence, int, Charset)
+   */
+  public static Stream<CharSequence> streamUBL(final CharSequence cs, final int byteLen, final Charset charset) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterateUBL(cs, byteLen, charset), Spliterator.ORDERED | Spliterator.NONNULL), false);
   }
 
   /**
@@ -338,24 +657,30 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @exception IllegalArgumentException if a character that is more than <code>byteLen</code> bytes in the string is present
    */
   public static String substringUBL(final String str, final int beginIndex, final int byteLen) {
+    return substringUBL(str, beginIndex, byteLen, Charset.defaultCharset());
+  }
+
+  /**
+   * returns a new string that is a substring of this string, encoded by specified charset.
+   *
+   * @param str the string to get the substring from, may be null.
+   * @param beginIndex the position to start from, negative means count back from the end of the String by this many characters.
+   * @param byteLen the byte length to end at (exclusive), return empty if negative.
+   * @param charset the charset to encode, use default if null.
+   * @return substring from start position to end position, return empty if null.
+   * @exception IllegalArgumentException if a character that is more than <code>byteLen</code> bytes in the string is present
+   * @see #substringUBL(String, int, int)
+   */
+  public static String substringUBL(final String str, final int beginIndex, final int byteLen, final Charset charset) {
     if (byteLen < 1) return "";
-    int[] codePoints = getCodePoints(str);
-    int begin = (beginIndex < 0 ? codePoints.length : 0) + beginIndex;
+    final String temporary = defaultString(str);
+    final CodePointView codePoints = CodePointView.of(temporary);
+    int begin = (beginIndex < 0 ? codePoints.length() : 0) + beginIndex;
     if (begin < 0) begin = 0;
-    if (begin > codePoints.length) return "";
-
-    StringBuilder sb = new StringBuilder(codePoints.length * 16);
-    int subLen = 0;
-    for (int codePoint : Arrays.copyOfRange(codePoints, begin, codePoints.length)) {
-      StringBuilder internalSb = new StringBuilder().appendCodePoint(codePoint);
-      int internalSbLen = byteLength(internalSb.toString());
-      if (internalSbLen > byteLen) throw new IllegalArgumentException("byteLen too small even for \"" + internalSb + "\".");
-      if (subLen + internalSbLen > byteLen) break;
-      sb.appendCodePoint(codePoint);
-      subLen += internalSbLen;
-    }
+    if (begin >= codePoints.length()) return "";
+    final int offset = codePoints.offsetOf(begin);
 
-    return sb.toString();
+    return temporary.substring(offset, new ByteLimitedSplitter(temporary, offset, byteLen, charset).nextBoundary());
   }
 
   /**
@@ -379,20 +704,15 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return substring from start position to end position, return empty if null.
    */
   public static String substringUCL(final String str, final int beginIndex, final int endIndex) {
-    int[] codePoints = getCodePoints(str);
-    int begin = (beginIndex < 0 ? codePoints.length : 0) + beginIndex;
+    final CodePointView codePoints = CodePointView.of(str);
+    int begin = (beginIndex < 0 ? codePoints.length() : 0) + beginIndex;
     if (begin < 0) begin = 0;
-    int end = (endIndex < 0 ? codePoints.length : 0) + endIndex;
-    if (end > codePoints.length) end = codePoints.length;
+    int end = (endIndex < 0 ? codePoints.length() : 0) + endIndex;
+    if (end > codePoints.length()) end = codePoints.length();
     if (end < 0) end = 0;
-    if (begin > end) return "";
-
-    StringBuilder sb = new StringBuilder();
-    for (int codePoint : Arrays.copyOfRange(codePoints, begin, end)) {
-      sb.appendCodePoint(codePoint);
-    }
+    if (begin >= end) return "";
 
-    return sb.toString();
+    return codePoints.subSequence(begin, end).toString();
   }
 
   /**
@@ -413,6 +733,63 @@ public class StringUtils extends org.apache.commons.lang3.StringUtils {
    * @return the string leading and trailing whitespace and full-width space omitted.
    */
   public static String trim(final String str, final boolean emptyToBlank) {
-    return isSimilarToBlank(str) && !emptyToBlank ? null : defaultString(str).replaceAll("[\\s\\t　]+", " ").trim();
+    if (str == null) return emptyToBlank ? "" : null;
+    final String trimmed = squeeze(str, false);
+    if (trimmed.isEmpty() && !emptyToBlank && isSimilarToBlank(str)) return null;
+
+    return trimmed;
+  }
+
+  /**
+   * returns a copy of the string in a single pass, with leading and trailing whitespace and full-width space omitted, and inner ones collapsed into a space.
+   *
+   * @param str the string, must not be null.
+   * @param dashes if true, also replace dash variants with hyphen-minus.
+   * @return the squeezed string, or str itself if nothing to change.
+   */
+  private static String squeeze(final String str, final boolean dashes) {
+    int begin = 0;
+    int end = str.length();
+    while (begin < end && isTrimmable(str.charAt(begin))) begin++;
+    while (end > begin && isTrimmable(str.charAt(end - 1))) end--;
+    int i = begin;
+    for (char c; i < end; i++) {
+      c = str.charAt(i);
+      if (dashes && isDash(c)) break;
+      if (isBlankChar(c) && (c != ' ' || isBlankChar(str.charAt(i + 1)))) break;
+    }
+    if (i == end) return begin == 0 && end == str.length() ? str : str.substring(begin, end);
+    final StringBuilder sb = ScratchBuffer.get(end - begin).append(str, begin, i);
+    for (boolean blank = false; i < end; i++) {
+      final char c = str.charAt(i);
+      if (!isBlankChar(c)) sb.append(dashes && isDash(c) ? '-' : c);
+      else if (!blank) sb.append(' ');
+      blank = isBlankChar(c);
+    }
+
+    return sb.toString();
+  }
+
+  /**
+   * the forms of Japanese Kana, used in {@link StringUtils#normalizeKana(String, KanaForm, boolean)}.
+   */
+  public static enum KanaForm {
+    /** Hiragana. */
+    HIRAGANA,
+    /** full-width Katakana. */
+    KATAKANA,
+    /** half-width Katakana, voiced Kana are separated into the base and the half-width voiced sound mark. */
+    HALFWIDTH_KATAKANA;
+  }
+
+  /**
+   * memoization of {@link StringUtils#normalizeCached(String, boolean)}.
+   */
+  private static final class NormalizedCache {
+
+    /** the maximum length of strings to cache. */
+    static final int MAXIMUM_LENGTH = 64;
+
+    static final Cache<String, String> CACHE = CacheBuilder.newBuilder().maximumSize(4096).build();
   }
 }
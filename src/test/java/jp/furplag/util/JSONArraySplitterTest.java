@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class JSONArraySplitterTest {
+
+  private static ByteBuffer[] segments(final String json) {
+    return JSONArraySplitter.segments(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String[] chunks(final String json, final long chunkSize) {
+    final ByteBuffer[] segments = segments(json);
+    final long[] ranges = JSONArraySplitter.split(segments, chunkSize);
+    if (ranges == null) return null;
+    final String[] chunks = new String[ranges.length / 2];
+    for (int i = 0; i < chunks.length; i++) chunks[i] = new String(JSONArraySplitter.copy(segments, ranges[i * 2], ranges[i * 2 + 1]), StandardCharsets.UTF_8);
+
+    return chunks;
+  }
+
+  @Test
+  public void testSplit() {
+    assertArrayEquals(new String[]{"[]"}, chunks("[]", 1));
+    assertArrayEquals(new String[]{"[ ]"}, chunks(" \r\n\t[ ] trailing", 1));
+    assertArrayEquals(new String[]{"[1,2,3]"}, chunks("[1,2,3]", 100));
+    assertArrayEquals(new String[]{"[1]", "[2]", "[3]"}, chunks("[1,2,3]", 1));
+    assertArrayEquals(new String[]{"[1,2]", "[3,4]", "[5]"}, chunks("[1,2,3,4,5]", 3));
+    assertArrayEquals(new String[]{"[{\"a\":[1,2],\"b\":\"],}\"}]", "[ \"\\\\\"]", "[\"\\\",\"]"}, chunks("[{\"a\":[1,2],\"b\":\"],}\"}, \"\\\\\",\"\\\",\"]", 1));
+    assertArrayEquals(new String[]{"[\"鮨\"]", "[\"𩸽\"]"}, chunks("[\"鮨\",\"𩸽\"]", 1));
+    assertArrayEquals(new String[]{"[1]", "[2]"}, chunks("﻿[1,2]", 1));
+  }
+
+  @Test
+  public void testNotSplittable() {
+    assertNull(chunks("", 1));
+    assertNull(chunks("{\"a\":[1,2]}", 1));
+    assertNull(chunks("1", 1));
+    assertNull(chunks("[1,2", 1));
+    assertNull(chunks("[\"]", 1));
+    assertNull(chunks("[[1,2]", 1));
+    assertNull(JSONArraySplitter.split(new ByteBuffer[]{ByteBuffer.wrap("[1,2]".getBytes(StandardCharsets.UTF_16))}, 1));
+  }
+
+  @Test
+  public void testIsSplittable() {
+    assertTrue(JSONArraySplitter.isSplittable(new JsonFactory()));
+    assertTrue(JSONArraySplitter.isSplittable(new JsonFactory().enable(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES)));
+    assertFalse(JSONArraySplitter.isSplittable(new JsonFactory().enable(JsonParser.Feature.ALLOW_COMMENTS)));
+    assertFalse(JSONArraySplitter.isSplittable(new JsonFactory().enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES)));
+    assertFalse(JSONArraySplitter.isSplittable(new SmileFactory()));
+  }
+
+  @Test
+  public void testChunkSize() {
+    assertEquals(JSONArraySplitter.MINIMUM_CHUNK, JSONArraySplitter.chunkSize(0));
+    assertEquals(JSONArraySplitter.MAXIMUM_CHUNK, JSONArraySplitter.chunkSize(Long.MAX_VALUE));
+  }
+}
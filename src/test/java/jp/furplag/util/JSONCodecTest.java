@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import jp.furplag.util.commons.StringUtils;
+
+public class JSONCodecTest {
+
+  public static class Entity {
+
+    public long id;
+
+    public String name;
+
+    public Entity() {}
+
+    public Entity(long id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Entity && id == ((Entity) other).id && name.equals(((Entity) other).name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(id);
+    }
+  }
+
+  public static class Derived extends Entity {
+
+    public String extra = "extra";
+  }
+
+  @Test
+  public void testCodec() {
+    assertSame(JSONifier.codec(Entity.class), JSONifier.codec(Entity.class));
+    assertSame(JSONifier.codec(new TypeReference<List<Entity>>() {}), JSONifier.codec(new TypeReference<List<Entity>>() {}));
+    assertNotSame(JSONifier.codec(new TypeReference<List<Entity>>() {}), JSONifier.codec(new TypeReference<List<Integer>>() {}));
+    assertEquals(Entity.class, JSONifier.codec(Entity.class).getType().getRawClass());
+    assertEquals(List.class, JSONifier.codec(new TypeReference<List<Entity>>() {}).getType().getRawClass());
+  }
+
+  @Test
+  public void testParse() throws IOException {
+    final JSONCodec<Entity> codec = JSONifier.codec(Entity.class);
+    final String json = "{\"id\":1,\"name\":\"鮨\",\"unknown\":true}";
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    final Entity expect = new Entity(1, "鮨");
+
+    assertNull(codec.parse((String) null));
+    assertNull(codec.parse((byte[]) null));
+    assertNull(codec.parse((InputStream) null));
+    assertEquals(expect, codec.parse(json));
+    assertEquals(expect, codec.parse(bytes));
+    assertEquals(expect, codec.parse(new ByteArrayInputStream(bytes)));
+    assertEquals(expect, codec.parse(new StringReader(json)));
+    assertEquals(expect, codec.parse(ByteBuffer.wrap(bytes)));
+
+    final JSONCodec<Map<String, List<Integer>>> mapCodec = JSONifier.codec(new TypeReference<Map<String, List<Integer>>>() {});
+    assertEquals(Arrays.asList(1, 2), mapCodec.parse("{\"a\":[1,2]}").get("a"));
+  }
+
+  @Test
+  public void testStream() throws IOException {
+    final JSONCodec<Entity> codec = JSONifier.codec(Entity.class);
+
+    assertFalse(codec.iterate((InputStream) null).hasNext());
+    assertFalse(codec.iterate((Reader) null).hasNext());
+    assertEquals(0, codec.stream((InputStream) null).count());
+    try (Stream<Entity> stream = codec.stream(new StringReader("{\"id\":1,\"name\":\"a\"}\n{\"id\":2,\"name\":\"b\"}"))) {
+      assertEquals(Arrays.asList(new Entity(1, "a"), new Entity(2, "b")), stream.collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testParseParallel() throws IOException {
+    final JSONCodec<Entity> codec = JSONifier.codec(Entity.class);
+    final List<Entity> entities = IntStream.range(0, 50000).mapToObj((i) -> new Entity(i, "鮨,[\"" + i + "\"]")).collect(Collectors.toList());
+    final byte[] bytes = JSONifier.stringifyAsBytes(entities);
+    assertTrue(bytes.length > JSONArraySplitter.THRESHOLD);
+
+    assertEquals(0, codec.parseParallel((byte[]) null).size());
+    assertEquals(0, codec.parseParallel((Path) null).size());
+    assertEquals(0, codec.streamParallel((byte[]) null).count());
+    assertEquals(0, codec.streamParallel((Path) null).count());
+    assertEquals(entities, codec.parseParallel(bytes));
+    assertEquals(entities, JSONifier.parseParallel(bytes, Entity.class));
+    assertEquals(entities, codec.streamParallel(bytes).sorted((a, b) -> Long.compare(a.id, b.id)).collect(Collectors.toList()));
+    assertEquals(Arrays.asList(new Entity(1, "鮨")), codec.parseParallel("[{\"id\":1,\"name\":\"鮨\"}]".getBytes(StandardCharsets.UTF_8)));
+    assertEquals("not an array", Arrays.asList(new Entity(1, "鮨")), codec.parseParallel("{\"id\":1,\"name\":\"鮨\"}".getBytes(StandardCharsets.UTF_8)));
+    assertEquals("lenient", entities, JSONMapper.builder(JSONMapper.Profile.LENIENT).build().codec(Entity.class).parseParallel(bytes));
+
+    final Path path = Files.createTempFile("jsoncodec", ".json");
+    try {
+      Files.write(path, bytes);
+      assertEquals(entities, codec.parseParallel(path));
+      assertEquals(entities.size(), codec.streamParallel(path).count());
+    } finally {
+      Files.delete(path);
+    }
+
+    final byte[] broken = Arrays.copyOf(bytes, bytes.length);
+    for (int i = bytes.length / 2; i < bytes.length; i++) {
+      if (bytes[i] != '{') continue;
+      broken[i] = '?';
+      break;
+    }
+    try {
+      codec.parseParallel(broken);
+      fail("must raise JsonProcessingException.");
+    } catch (JsonProcessingException e) {}
+    try {
+      codec.streamParallel(broken).count();
+      fail("must raise UncheckedIOException.");
+    } catch (UncheckedIOException e) {}
+  }
+
+  @Test
+  public void testStringify() throws IOException {
+    final JSONCodec<Entity> codec = JSONifier.codec(Entity.class);
+    final Entity entity = new Entity(1, "鮨");
+    final String json = "{\"id\":1,\"name\":\"鮨\"}";
+
+    assertEquals("null", codec.stringify(null));
+    assertEquals(json, codec.stringify(entity));
+    assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), codec.stringifyAsBytes(entity));
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    codec.stringify(entity, out);
+    assertEquals(json, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    final StringWriter writer = new StringWriter();
+    codec.stringify(entity, writer);
+    assertEquals(json, writer.toString());
+    final ByteBuffer buffer = ByteBuffer.allocate(64);
+    codec.stringify(entity, buffer);
+    assertEquals(json.getBytes(StandardCharsets.UTF_8).length, buffer.position());
+    final ByteBuffer direct = ByteBuffer.allocateDirect(64);
+    assertEquals(json.getBytes(StandardCharsets.UTF_8).length, codec.writeTo(entity, direct));
+    direct.flip();
+    assertEquals(json, StandardCharsets.UTF_8.decode(direct).toString());
+    final byte[] bytes = new byte[64];
+    assertEquals(json.getBytes(StandardCharsets.UTF_8).length, codec.writeTo(entity, bytes, 0));
+    final ByteArrayBuilder builder = new ByteArrayBuilder();
+    assertEquals(json.getBytes(StandardCharsets.UTF_8).length, codec.writeTo(entity, builder));
+    assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), builder.toByteArray());
+
+    assertEquals("subclass", JSONifier.stringifyLazy(new Derived()), codec.stringify(new Derived()));
+    assertEquals("[{\"id\":1,\"name\":\"鮨\"}]", JSONifier.codec(new TypeReference<List<Entity>>() {}).stringify(Arrays.asList(entity)));
+  }
+  @Test
+  public void testBuilders() throws IOException {
+    final JSONCodec<String> codec = JSONifier.codec(String.class);
+    final String large = StringUtils.repeat('a', JSONCodec.MAXIMUM_BUILDER_SIZE);
+    JSONCodec.BUILDERS.remove();
+    assertArrayEquals("\"a\"".getBytes(StandardCharsets.UTF_8), codec.stringifyAsBytes("a"));
+    final ByteArrayBuilder builder = JSONCodec.BUILDERS.get();
+    assertNotNull(builder);
+    assertArrayEquals("\"b\"".getBytes(StandardCharsets.UTF_8), codec.stringifyAsBytes("b"));
+    assertSame(builder, JSONCodec.BUILDERS.get());
+    assertEquals(large.length() + 2, codec.stringifyAsBytes(large).length);
+    assertNull("dropped", JSONCodec.BUILDERS.get());
+    assertArrayEquals("\"c\"".getBytes(StandardCharsets.UTF_8), codec.stringifyAsBytes("c"));
+    assertNotNull(JSONCodec.BUILDERS.get());
+    assertNotSame(builder, JSONCodec.BUILDERS.get());
+  }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+public class JSONMapperTest {
+
+  public static class Bean {
+
+    private int id;
+
+    private String name;
+
+    private LocalDate date;
+
+    public int getId() {
+      return id;
+    }
+
+    public void setId(int id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public LocalDate getDate() {
+      return date;
+    }
+
+    public void setDate(LocalDate date) {
+      this.date = date;
+    }
+  }
+
+  static class Hidden {
+
+    public int id;
+  }
+
+  @Test
+  public void testDefault() throws IOException {
+    final JSONMapper mapper = JSONMapper.builder().build();
+    final Bean bean = mapper.parse("{\"id\":1,\"name\":null,\"date\":\"2017-01-02\",\"unknown\":true}", Bean.class);
+    assertEquals(1, bean.getId());
+    assertEquals(LocalDate.of(2017, 1, 2), bean.getDate());
+    assertEquals("{\"id\":1,\"name\":null,\"date\":\"2017-01-02\"}", mapper.stringify(bean));
+    assertEquals(JSONifier.stringify(bean), mapper.stringify(bean));
+    assertFalse(mapper.tryParse("{'id':1}", Bean.class).isSuccess());
+    assertNotSame(mapper.codec(Bean.class), JSONMapper.builder().build().codec(Bean.class));
+    assertSame(mapper.codec(Bean.class), mapper.codec(Bean.class));
+  }
+
+  @Test
+  public void testWriters() throws IOException {
+    final JSONMapper mapper = JSONMapper.builder().build();
+    final Hidden hidden = new Hidden();
+    hidden.id = 1;
+    assertEquals(0, mapper.writers.size());
+    assertEquals("{\"id\":1}", mapper.stringify(hidden));
+    assertEquals("{\"id\":1}", mapper.stringify(hidden));
+    assertEquals(1, mapper.writers.size());
+    assertEquals("{\"id\":2}", mapper.stringify(new Hidden() {{ id = 2; }}));
+    assertEquals("anonymous classes are not cached", 1, mapper.writers.size());
+  }
+
+  @Test
+  public void testCompact() throws IOException {
+    final JSONMapper mapper = JSONMapper.builder(JSONMapper.Profile.COMPACT).build();
+    final Bean bean = new Bean();
+    bean.setId(1);
+    assertEquals("{\"id\":1}", mapper.stringify(bean));
+    assertEquals("{\"id\":1,\"name\":null,\"date\":null}", JSONMapper.builder(JSONMapper.Profile.COMPACT).serializationInclusion(JsonInclude.Include.ALWAYS).build().stringify(bean));
+    assertTrue(JSONMapper.builder().indent(true).build().stringify(bean).contains("\n"));
+  }
+
+  @Test
+  public void testLenient() throws IOException {
+    final JSONMapper mapper = JSONMapper.builder(JSONMapper.Profile.LENIENT).build();
+    assertEquals(1, mapper.parse("{ /* comment */ 'id': 01, name: 'a' }", Bean.class).getId());
+    assertEquals(Arrays.asList(1), mapper.parse("1", new TypeReference<List<Integer>>() {}));
+    assertEquals(1, mapper.tryParse("{id:1}", Bean.class).get().getId());
+    assertEquals(0, mapper.parseLazy("{id:", Bean.class).getId());
+    assertEquals(1, JSONMapper.builder(null).lenient(true).build().parse("{id:1}", Bean.class).getId());
+  }
+
+  @Test
+  public void testFactory() throws IOException {
+    final JSONMapper mapper = JSONMapper.builder().factory(new JsonFactory().enable(JsonParser.Feature.ALLOW_COMMENTS)).build();
+    final String json = "[1 /* c */, 2]";
+    assertEquals(Arrays.asList(1, 2), mapper.parse(json, new TypeReference<List<Integer>>() {}));
+    assertEquals(Arrays.asList(1, 2), mapper.tryParse(json, new TypeReference<List<Integer>>() {}).get());
+    assertEquals(Arrays.asList(1, 2), mapper.parseLazy(json, new TypeReference<List<Integer>>() {}));
+    assertEquals(1, JSONMapper.builder().factory(new JsonFactory().enable(JsonParser.Feature.ALLOW_NUMERIC_LEADING_ZEROS)).build().tryParse("{\"id\":01}", Bean.class).get().getId());
+    assertFalse(JSONMapper.builder().factory(new JsonFactory()).build().tryParse(json, Object.class).isSuccess());
+  }
+
+  @Test(expected = UnrecognizedPropertyException.class)
+  public void testFailOnUnknownProperties() throws IOException {
+    JSONMapper.builder().failOnUnknownProperties(true).build().parse("{\"unknown\":true}", Bean.class);
+  }
+
+  @Test
+  public void testWarmUp() throws IOException {
+    final JSONMapper mapper = JSONMapper.builder().warmUp(Bean.class, null).warmUp(new TypeReference<List<Bean>>() {}).modules((Module) null).build();
+    assertEquals("codec created at build time", 1, mapper.codec(Bean.class).parse("{\"id\":1}").getId());
+    assertEquals(1, mapper.codec(new TypeReference<List<Bean>>() {}).parse("[{\"id\":1}]").get(0).getId());
+  }
+
+  @Test
+  public void testAfterburner() throws IOException {
+    final String json = "{\"id\":1,\"name\":\"鮨\",\"date\":\"2017-01-02\"}";
+    assertFalse(JSONMapper.builder().afterburner(false).build().mapper().getRegisteredModuleIds().contains(new AfterburnerModule().getTypeId()));
+    assertEquals(JSONMapper.isAfterburnerAvailable(), JSONMapper.builder().afterburner(true).build().mapper().getRegisteredModuleIds().contains(new AfterburnerModule().getTypeId()));
+    for (boolean afterburner : new boolean[] { false, true }) {
+      final JSONMapper mapper = JSONMapper.builder().afterburner(afterburner).build();
+      final Bean bean = mapper.parse(json, Bean.class);
+      assertEquals(1, bean.getId());
+      assertEquals("鮨", bean.getName());
+      assertEquals(LocalDate.of(2017, 1, 2), bean.getDate());
+      assertEquals(json, mapper.stringify(bean));
+      assertEquals(1, mapper.parse("{\"id\":1}", Hidden.class).id);
+    }
+  }
+
+  @Test
+  public void testBinary() throws IOException {
+    final Bean bean = new Bean();
+    bean.setId(1);
+    bean.setName("鮨");
+    bean.setDate(LocalDate.of(2017, 1, 2));
+    assertFalse(JSONMapper.builder().build().isBinary());
+    for (JSONMapper mapper : new JSONMapper[] { JSONifier.cbor(), JSONifier.smile(), JSONMapper.builder(JSONMapper.Profile.CBOR).build() }) {
+      assertTrue(mapper.isBinary());
+      final byte[] bytes = mapper.stringifyAsBytes(bean);
+      assertTrue(bytes.length < JSONifier.stringifyAsBytes(bean).length);
+      final Bean parsed = mapper.parseBytes(bytes, Bean.class);
+      assertEquals(1, parsed.getId());
+      assertEquals("鮨", parsed.getName());
+      assertEquals(LocalDate.of(2017, 1, 2), parsed.getDate());
+      final ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertEquals(2, mapper.writeAll(Stream.of(bean, bean), out, true));
+      assertEquals(2, mapper.parseBytes(out.toByteArray(), new TypeReference<List<Bean>>() {}).size());
+      out.reset();
+      assertEquals(2, mapper.writeAll(Stream.of(bean, bean), out));
+      try (Stream<Bean> stream = mapper.stream(new ByteArrayInputStream(out.toByteArray()), Bean.class)) {
+        assertEquals(2, stream.filter((b) -> b.getId() == 1).count());
+      }
+    }
+    assertSame(JSONifier.cbor(), JSONifier.cbor());
+    assertNotSame(JSONifier.cbor(), JSONifier.smile());
+  }
+
+  @Test
+  public void testBinaryText() throws IOException {
+    for (JSONMapper mapper : new JSONMapper[] { JSONifier.cbor(), JSONifier.smile() }) {
+      // @formatter:off
+      for (Callable<?> text : Arrays.<Callable<?>>asList(
+          () -> mapper.stringify(1)
+        , () -> mapper.stringifyLazy(new HashMap<>())
+        , () -> mapper.parse("1", Integer.class)
+        , () -> mapper.parse(null, Integer.class)
+        , () -> mapper.parseLazy("{\"a\":5}", HashMap.class)
+        , () -> mapper.parseReader(new StringReader("1"), Integer.class)
+        , () -> mapper.extract("{\"a\":5}", "/a")
+      )) {
+      // @formatter:on
+        try {
+          text.call();
+          fail("binary");
+        } catch (IllegalStateException e) {
+        } catch (Exception e) {
+          fail(e.getMessage());
+        }
+      }
+      assertFalse(mapper.tryParse("1", Integer.class).isSuccess());
+      assertFalse(mapper.tryParse("1", new TypeReference<Integer>() {}).isSuccess());
+      assertEquals(Integer.valueOf(1), mapper.parseBytes(mapper.stringifyAsBytes(1), Integer.class));
+    }
+  }
+}
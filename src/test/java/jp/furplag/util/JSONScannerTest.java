@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+public class JSONScannerTest {
+
+  @Test
+  public void testWellFormed() {
+    for (String json : new String[] {
+      "0", "-0", "1.5", "-1.5e+10", "1E-2", "\"\"", "\"\\u3042\\n\\\"\"", "true", "false", "null", "{}", "[]", " [ ] ",
+      "{\"a\":1,\"b\":[true,false,null],\"c\":{\"d\":\"e\"}}", "[[[[[[[[[[[[[[[[[[[[1]]]]]]]]]]]]]]]]]]]]", "\r\n\t{ \"a\" : [ 1 , 2 ] }",
+      "1 2", "[1] ]", "true]", "﻿{}"
+    }) {
+      assertEquals(json, -1, JSONScanner.indexOfMalformed(json));
+    }
+  }
+
+  @Test
+  public void testMalformed() {
+    assertEquals(0, JSONScanner.indexOfMalformed(null));
+    assertEquals(0, JSONScanner.indexOfMalformed(""));
+    assertEquals(2, JSONScanner.indexOfMalformed("  "));
+    assertEquals(1, JSONScanner.indexOfMalformed("{NaN}"));
+    assertEquals(1, JSONScanner.indexOfMalformed("01"));
+    assertEquals(2, JSONScanner.indexOfMalformed("1."));
+    assertEquals(0, JSONScanner.indexOfMalformed("+1"));
+    assertEquals(0, JSONScanner.indexOfMalformed(".5"));
+    assertEquals(3, JSONScanner.indexOfMalformed("tru"));
+    assertEquals(3, JSONScanner.indexOfMalformed("[1,]"));
+    assertEquals(7, JSONScanner.indexOfMalformed("{\"a\":1,}"));
+    assertEquals(1, JSONScanner.indexOfMalformed("{'a':1}"));
+    assertEquals(5, JSONScanner.indexOfMalformed("{\"a\" 1}"));
+    assertEquals(3, JSONScanner.indexOfMalformed("[1 2]"));
+    assertEquals(2, JSONScanner.indexOfMalformed("\"\\x\""));
+    assertEquals(1, JSONScanner.indexOfMalformed("\"\t\""));
+    assertEquals(5, JSONScanner.indexOfMalformed("\"abcd"));
+    assertEquals(5, JSONScanner.indexOfMalformed("[1,[]"));
+    assertEquals(0, JSONScanner.indexOfMalformed("/* comment */ 1"));
+  }
+
+  @Test
+  public void testConsistentWithParser() {
+    final String json = "{\"id\":-12,\"name\":\"\\u9BA8 sushi\",\"tags\":[\"a\",true,null,1.5e3],\"nested\":{\"x\":[[],{}]}}";
+    final String alphabet = "{}[]:,\" \\tfnu0123456789.-+eE";
+    final Random random = new Random(1L);
+    for (int i = 0; i < 20000; i++) {
+      final StringBuilder sb = new StringBuilder(json);
+      for (int j = random.nextInt(3); j >= 0; j--) {
+        final int index = random.nextInt(sb.length());
+        switch (random.nextInt(3)) {
+          case 0:
+            sb.deleteCharAt(index);
+            break;
+          case 1:
+            sb.insert(index, alphabet.charAt(random.nextInt(alphabet.length())));
+            break;
+          default:
+            sb.setCharAt(index, alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+      }
+      final String mutated = sb.toString();
+      if (JSONScanner.indexOfMalformed(mutated) < 0) continue;
+      try {
+        JSONifier.parse(mutated, Object.class);
+        fail("scanner reported malformed, but parser accepted: " + mutated);
+      } catch (Exception e) {}
+    }
+  }
+
+  @Test
+  public void testApplicable() {
+    assertTrue(JSONScanner.isApplicable(new JsonFactory()));
+    for (JsonParser.Feature feature : JsonParser.Feature.values()) {
+      if (feature.name().startsWith("ALLOW_")) assertFalse(feature.name(), JSONScanner.isApplicable(new JsonFactory().enable(feature)));
+    }
+    assertTrue(JSONScanner.isApplicable(new JsonFactory().enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION)));
+    assertFalse(JSONScanner.isApplicable(new SmileFactory()));
+  }
+}
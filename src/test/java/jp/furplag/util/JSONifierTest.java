@@ -18,11 +18,29 @@ package jp.furplag.util;
 import static jp.furplag.util.JSONifier.*;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -34,7 +52,9 @@ import org.junit.Test;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.google.common.collect.Maps;
 
 public class JSONifierTest {
@@ -253,4 +273,257 @@ public class JSONifierTest {
     assertArrayEquals(new int[] { 1, 2, 3 }, parseLazy(stringifyLazy(new int[] { 1, 2, 3 }), new TypeReference<int[]>() {}));
   }
 
+  @Test
+  public final void testParseStreams() throws IOException {
+    final String json = "{\"id\":1,\"name\":\"鮨\"}";
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    final EntityOfTestParsable expect = new EntityOfTestParsable(1, "鮨");
+
+    assertNull(parse(null, Integer.class));
+    assertNull(parseStream((InputStream) null, EntityOfTestParsable.class));
+    assertNull(parseReader((Reader) null, EntityOfTestParsable.class));
+    assertNull(parseBytes((byte[]) null, EntityOfTestParsable.class));
+    assertNull(parseBuffer((ByteBuffer) null, EntityOfTestParsable.class));
+    assertNull(parseFile((Path) null, EntityOfTestParsable.class));
+    assertNull(parseBytes(bytes, (Class<?>) null));
+
+    assertEquals(expect, parseStream(new ByteArrayInputStream(bytes), EntityOfTestParsable.class));
+    assertEquals(expect, parseReader(new StringReader(json), EntityOfTestParsable.class));
+    assertEquals(expect, parseBytes(bytes, EntityOfTestParsable.class));
+    assertEquals(expect, parseBuffer(ByteBuffer.wrap(bytes), EntityOfTestParsable.class));
+    assertEquals(Arrays.asList(1, 2, 3), parseBytes("[1,2,3]".getBytes(StandardCharsets.UTF_8), new TypeReference<List<Integer>>() {}));
+    assertEquals(Arrays.asList(1, 2, 3), parseReader(new StringReader("[1,2,3]"), new TypeReference<List<Integer>>() {}));
+    assertEquals(Arrays.asList(1, 2, 3), parseStream(new ByteArrayInputStream("[1,2,3]".getBytes(StandardCharsets.UTF_8)), new TypeReference<List<Integer>>() {}));
+
+    final ByteBuffer sliced = ByteBuffer.wrap(("  " + json).getBytes(StandardCharsets.UTF_8), 2, bytes.length).slice();
+    assertEquals(expect, parseBuffer(sliced, EntityOfTestParsable.class));
+    final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 4);
+    direct.put(bytes).flip();
+    assertEquals(expect, parseBuffer(direct, EntityOfTestParsable.class));
+    assertEquals("position not changed", 0, direct.position());
+    assertArrayEquals(new int[] { 1, 2 }, parseBuffer(ByteBuffer.wrap("[1,2]".getBytes(StandardCharsets.UTF_8)), new TypeReference<int[]>() {}));
+  }
+
+  @Test
+  public final void testParsePath() throws IOException {
+    final Path path = Files.createTempFile("jsonifier", ".json");
+    try {
+      Files.write(path, "{\"id\":2,\"name\":\"𩸽\"}".getBytes(StandardCharsets.UTF_8));
+      assertEquals(new EntityOfTestParsable(2, "𩸽"), parseFile(path, EntityOfTestParsable.class));
+      assertEquals("𩸽", parseFile(path, new TypeReference<Map<String, Object>>() {}).get("name"));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  public final void testStringifyStreams() throws IOException {
+    final EntityOfTestParsable entity = new EntityOfTestParsable(1, "鮨");
+    final String json = stringify(entity);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    stringify(entity, out);
+    assertEquals(json, new String(out.toByteArray(), StandardCharsets.UTF_8));
+    final StringWriter writer = new StringWriter();
+    stringify(entity, writer);
+    assertEquals(json, writer.toString());
+    assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), stringifyAsBytes(entity));
+
+    final ByteBuffer buffer = ByteBuffer.allocate(64);
+    stringify(entity, buffer);
+    buffer.flip();
+    assertEquals(json, StandardCharsets.UTF_8.decode(buffer).toString());
+    try {
+      stringify(entity, ByteBuffer.allocate(4));
+      fail("must raise BufferOverflowException.");
+    } catch (BufferOverflowException e) {}
+  }
+
+  @Test
+  public final void testWriteTo() throws IOException {
+    final EntityOfTestParsable entity = new EntityOfTestParsable(1, "鮨");
+    final byte[] json = stringify(entity).getBytes(StandardCharsets.UTF_8);
+
+    for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+      buffer.put((byte) '#');
+      assertEquals(json.length, writeTo(entity, buffer));
+      assertEquals(json.length + 1, buffer.position());
+      buffer.flip();
+      buffer.get();
+      final byte[] actual = new byte[json.length];
+      buffer.get(actual);
+      assertArrayEquals(json, actual);
+
+      buffer.clear();
+      buffer.position(60);
+      try {
+        writeTo(entity, buffer);
+        fail("must raise BufferOverflowException.");
+      } catch (BufferOverflowException e) {}
+      assertEquals("position restored", 60, buffer.position());
+    }
+
+    final byte[] bytes = new byte[json.length + 2];
+    assertEquals(json.length, writeTo(entity, bytes, 2));
+    assertArrayEquals(json, Arrays.copyOfRange(bytes, 2, bytes.length));
+    try {
+      writeTo(entity, bytes, 3);
+      fail("must raise BufferOverflowException.");
+    } catch (BufferOverflowException e) {}
+
+    final ByteArrayBuilder builder = new ByteArrayBuilder();
+    assertEquals(json.length, writeTo(entity, builder));
+    assertEquals(4, writeTo(null, builder));
+    assertEquals(new String(json, StandardCharsets.UTF_8) + "null", new String(builder.toByteArray(), StandardCharsets.UTF_8));
+    builder.reset();
+    assertEquals(json.length, writeTo(entity, builder));
+    assertArrayEquals(json, builder.toByteArray());
+  }
+
+  @Test
+  public final void testStringifyAsBytesReused() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100000; i++) sb.append('鮨');
+    final String large = sb.toString();
+
+    assertArrayEquals(stringify(large).getBytes(StandardCharsets.UTF_8), stringifyAsBytes(large));
+    assertArrayEquals("\"鮪\"".getBytes(StandardCharsets.UTF_8), stringifyAsBytes("鮪"));
+    assertArrayEquals("null".getBytes(StandardCharsets.UTF_8), stringifyAsBytes(null));
+  }
+
+  @Test
+  public final void testExtract() throws IOException {
+    final String json = "{\"meta\":{\"id\":123,\"tags\":[\"a\",\"b\"]},\"items\":[{\"price\":1.5,\"name\":\"鮨\"},{\"price\":2,\"name\":\"𩸽\"}],\"0\":\"zero\",\"a/b\":null}";
+
+    assertEquals(Collections.emptyMap(), extract((String) null, "/meta/id"));
+    assertEquals(Collections.emptyMap(), extract(json));
+    assertEquals(Collections.emptyMap(), extract(json, (String[]) null));
+    assertEquals(Collections.emptyMap(), extract(json, "/nothing", "/meta/nothing", "/items/2", "/meta/id/0"));
+
+    final Map<String, Object> values = extract(json, "/items/1/name", "/meta/id", null, "/items/0/price", "/meta/id");
+    assertEquals(Arrays.asList("/items/1/name", "/meta/id", "/items/0/price"), new ArrayList<>(values.keySet()));
+    assertEquals("𩸽", values.get("/items/1/name"));
+    assertEquals(123, values.get("/meta/id"));
+    assertEquals(1.5, values.get("/items/0/price"));
+
+    assertEquals(Arrays.asList("a", "b"), extract(json, "/meta/tags").get("/meta/tags"));
+    assertEquals(parse(json, Map.class), extract(json, "").get(""));
+    assertEquals("zero", extract(json, "/0").get("/0"));
+    final Map<String, Object> escaped = extract(json, "/a~1b");
+    assertTrue(escaped.containsKey("/a~1b"));
+    assertNull(escaped.get("/a~1b"));
+
+    final Map<String, Object> nested = extract(json, "/meta/tags/1", "/meta", "/meta/nothing");
+    assertEquals(2, nested.size());
+    assertEquals("b", nested.get("/meta/tags/1"));
+    assertEquals(parse(json, Map.class).get("meta"), nested.get("/meta"));
+
+    assertEquals(values, extract(json.getBytes(StandardCharsets.UTF_8), "/items/1/name", "/meta/id", "/items/0/price"));
+    assertEquals(123, extract(new ByteArrayInputStream((json.replaceAll("}$", "") + ", broken").getBytes(StandardCharsets.UTF_8)), "/meta/id").get("/meta/id"));
+
+    assertEquals(Long.valueOf(123), extract(json, "/meta/id", Long.class));
+    assertEquals("123", extract(json, "/meta/id", String.class));
+    assertNull(extract(json, "/meta/nothing", Long.class));
+    assertNull(extract(json, "/meta/id", (Class<?>) null));
+    assertEquals(new EntityOfTestParsable(1, "鮨"), extract("{\"entity\":{\"id\":1,\"name\":\"鮨\"}}", "/entity", EntityOfTestParsable.class));
+    assertEquals(Arrays.asList("a", "b"), extract(json, "/meta/tags", new TypeReference<List<String>>() {}));
+    try {
+      extract(json, "meta");
+      fail("must raise IllegalArgumentException.");
+    } catch (IllegalArgumentException e) {}
+  }
+
+  @Test
+  public final void testIterate() throws IOException {
+    assertFalse(iterate((InputStream) null, Integer.class).hasNext());
+    assertFalse(iterate((Reader) null, Integer.class).hasNext());
+    assertFalse(iterate(new StringReader("[1,2]"), (Class<?>) null).hasNext());
+
+    final Iterator<Integer> array = iterate(new ByteArrayInputStream("[1, 2, 3]".getBytes(StandardCharsets.UTF_8)), Integer.class);
+    assertEquals(Integer.valueOf(1), array.next());
+    assertEquals(Integer.valueOf(2), array.next());
+    assertEquals(Integer.valueOf(3), array.next());
+    assertFalse(array.hasNext());
+
+    final Iterator<EntityOfTestParsable> ndjson = iterate(new StringReader("{\"id\":1,\"name\":\"a\"}\n{\"id\":2,\"name\":\"b\"}\n"), EntityOfTestParsable.class);
+    assertEquals(new EntityOfTestParsable(1, "a"), ndjson.next());
+    assertEquals(new EntityOfTestParsable(2, "b"), ndjson.next());
+    assertFalse(ndjson.hasNext());
+
+    final Iterator<List<Integer>> nested = iterate(new StringReader("[[1],[2,3]]"), new TypeReference<List<Integer>>() {});
+    assertEquals(Arrays.asList(1), nested.next());
+    assertEquals(Arrays.asList(2, 3), nested.next());
+    assertFalse(nested.hasNext());
+  }
+
+  @Test
+  public final void testStream() throws IOException {
+    assertEquals(0, stream((InputStream) null, Integer.class).count());
+    try (Stream<Integer> stream = stream(new ByteArrayInputStream("[1,2,3,4]".getBytes(StandardCharsets.UTF_8)), Integer.class)) {
+      assertEquals(Arrays.asList(2, 4), stream.filter((i) -> i % 2 == 0).collect(Collectors.toList()));
+    }
+    try (Stream<Map<String, Object>> stream = stream(new StringReader("{\"a\":1} {\"a\":2}"), new TypeReference<Map<String, Object>>() {})) {
+      assertEquals(Arrays.asList(1, 2), stream.map((m) -> m.get("a")).collect(Collectors.toList()));
+    }
+    try (Stream<Integer> stream = stream(new StringReader("[1,\"a\"]"), Integer.class)) {
+      stream.count();
+      fail("must raise RuntimeJsonMappingException.");
+    } catch (RuntimeJsonMappingException e) {}
+  }
+
+  @Test
+  public final void testWriteAll() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(0, writeAll(null, out));
+    assertEquals(0, out.size());
+    assertEquals(0, writeAll(null, out, true));
+    assertEquals("[]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+    out = new ByteArrayOutputStream();
+    assertEquals(3, writeAll(Stream.of(new EntityOfTestParsable(1, "a"), null, "鮨"), out));
+    assertEquals("{\"id\":1,\"name\":\"a\"}\nnull\n\"鮨\"\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+    out = new ByteArrayOutputStream();
+    assertEquals(1000, writeAll(IntStream.range(0, 1000).boxed(), out, true));
+    try (Stream<Integer> stream = stream(new ByteArrayInputStream(out.toByteArray()), Integer.class)) {
+      assertEquals(499500, stream.mapToInt(Integer::intValue).sum());
+    }
+  }
+
+  @Test
+  public final void testTryParse() {
+    assertTrue(tryParse(null, String.class).isSuccess());
+    assertNull(tryParse(null, String.class).get());
+    assertFalse(tryParse(null, int.class).isSuccess());
+    assertTrue(tryParse("1", (Class<?>) null).isSuccess());
+    assertTrue(tryParse(null, new TypeReference<Map<String, Object>>() {}).isSuccess());
+
+    assertEquals(Integer.valueOf(1), tryParse("1", int.class).get());
+    assertEquals(Arrays.asList(1, 2), tryParse("[1,2]", new TypeReference<List<Integer>>() {}).get());
+    assertEquals("malformed JSON at index 1.", tryParse("{NaN}", int.class).getFailure());
+    assertEquals("malformed JSON at index 0.", tryParse("", new TypeReference<List<Integer>>() {}).getFailure());
+    assertFalse("not convertible", tryParse("{\"A\":\"a\"}", int.class).isSuccess());
+    assertNotNull(tryParse("{\"A\":\"a\"}", int.class).getFailure());
+  }
+
+  @Test
+  public final void testParseLazyFallbackNotShared() {
+    final List<Integer> list = parseLazy("[", new TypeReference<List<Integer>>() {});
+    list.add(1);
+    assertEquals(Arrays.asList(), parseLazy("[", new TypeReference<List<Integer>>() {}));
+    assertNotSame(parseLazy("{", EntityOfTestParsable.class), parseLazy("{", EntityOfTestParsable.class));
+    assertEquals(new EntityOfTestParsable(), parseLazy("{", EntityOfTestParsable.class));
+    assertEquals(Long.valueOf(0), parseLazy("{", long.class));
+    assertEquals(null, parseLazy("{", Long.class));
+    assertEquals("", parseLazy("{", String.class));
+  }
+
+  @Test
+  public final void testStringifyLazyUnserializable() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals("null", stringifyLazy(new EntityOfTest(1, "john")));
+      assertEquals("{\"id\":1,\"name\":\"john\"}", stringifyLazy(new EntityOfTestJSONifiable(1, "john")));
+    }
+  }
+
 }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Test;
+
+import jp.furplag.util.commons.StringUtils;
+
+public class LocaleIndexTest {
+
+  private static final Map<String, Locale> LOCALES = Localizer.LazyInitializer.AVAILABLE_LOCALES;
+
+  private static final LocaleIndex INDEX = Localizer.LazyInitializer.LOCALE_INDEX;
+
+  private static Locale expect(final String... localeArgs) {
+    return LOCALES.get(StringUtils.join(localeArgs, ",").replaceAll("_,_$", "__").replaceAll("_?,_?", "_").replaceAll("_+$", ""));
+  }
+
+  @Test
+  public void testSpellings() {
+    for (Map.Entry<String, Locale> entry : LOCALES.entrySet()) {
+      assertSame(entry.getKey(), expect(entry.getKey()), INDEX.get(entry.getKey()));
+      assertSame(entry.getKey(), expect(entry.getKey()), INDEX.get(new String[]{entry.getKey()}));
+      if (!entry.getKey().endsWith("_")) assertSame(entry.getKey(), entry.getValue(), INDEX.get(entry.getKey() + "__"));
+    }
+  }
+
+  @Test
+  public void testSameAsRegularExpressions() {
+    final String[] parts = {null, "", "_", "__", ",", "_,_", "ja", "ja_", "_ja", "JP", "_JP_", "JP__", "JP_JP", "JP,JP", "#u-ca-japanese", "ja_JP", "ja-JP", "sr", "BA", "#Latn", "_#Latn", "th", "TH", "TH_#u-nu-thai"};
+    for (String a : parts) {
+      assertSame(a, expect(a), INDEX.get(a));
+      for (String b : parts) {
+        assertSame(a + "," + b, expect(a, b), INDEX.get(a, b));
+        assertSame(a + "," + b, expect(a, b), INDEX.get(new String[]{a, b}));
+        for (String c : parts) {
+          assertSame(a + "," + b + "," + c, expect(a, b, c), INDEX.get(a, b, c));
+          assertSame(a + "," + b + "," + c, expect(a, b, c), INDEX.get(new String[]{a, b, c}));
+          assertSame(a + "," + b + "," + c + ",_", expect(a, b, c, "_"), INDEX.get(new String[]{a, b, c, "_"}));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testTooLong() {
+    assertNull(INDEX.get(StringUtils.repeat("ja_JP", 100)));
+    assertSame(Locale.JAPAN, INDEX.get("ja_JP" + StringUtils.repeat("_", 100)));
+    assertSame(Locale.JAPAN, INDEX.get("ja", "JP" + StringUtils.repeat("_", 100), "__"));
+  }
+}
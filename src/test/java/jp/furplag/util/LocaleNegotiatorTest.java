@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jp.furplag.util.commons.StringUtils;
+
+public class LocaleNegotiatorTest {
+
+  private static String ranges(final String acceptLanguage) {
+    return LocaleNegotiator.parse(acceptLanguage).stream().map((range) -> range.language + (range.country.isEmpty() ? "" : "-" + range.country) + ";" + range.quality).collect(Collectors.joining(","));
+  }
+
+  @Test
+  public void testOf() {
+    LocaleNegotiator negotiator = LocaleNegotiator.of(null);
+    assertEquals(Locale.getDefault(), negotiator.getFallback());
+    assertEquals(Arrays.asList(), negotiator.getSupportedLocales());
+    assertEquals(Locale.getDefault(), negotiator.negotiate("ja"));
+    negotiator = LocaleNegotiator.of(Locale.ENGLISH, (Locale[]) null);
+    assertEquals(Arrays.asList(), negotiator.getSupportedLocales());
+    negotiator = LocaleNegotiator.of(Locale.ENGLISH, Locale.JAPAN, null, Locale.US, Locale.JAPAN);
+    assertEquals(Arrays.asList(Locale.JAPAN, Locale.US), negotiator.getSupportedLocales());
+    try {
+      negotiator.getSupportedLocales().add(Locale.FRENCH);
+      fail("unmodifiable");
+    } catch (UnsupportedOperationException e) {}
+  }
+
+  @Test
+  public void testParse() {
+    assertEquals("", ranges(""));
+    assertEquals("", ranges(" , ,"));
+    assertEquals("ja;1.0", ranges("ja"));
+    assertEquals("ja-JP;1.0,en-US;0.8,en;0.5", ranges("en;q=0.5, ja-jp , en_US;q=0.8"));
+    assertEquals("zh-TW;1.0,zh;0.9,*;0.1", ranges("zh-Hant-TW, zh;q=0.9, *;q=0.1"));
+    assertEquals("es-419;1.0", ranges("es-419"));
+    assertEquals("fr;1.0,de;1.0,en;1.0", ranges("fr;q=1, de;Q = 1.000, en"));
+    assertEquals("ja;0.001", ranges("ja;q=0.001"));
+    assertEquals("", ranges("ja;q=0, ja;q=0.000, ja;q=1.1, ja;q=2, ja;q=-1, ja;q=.5, ja;q=0.5x, ja;q=0.0001, ja;q, ja;q=, ja;level=1"));
+    assertEquals("", ranges("日本語, 1ja, ja--JP, ja-JP-, abcdefghi, ja-abcdefghi, ja JP, ja;"));
+  }
+
+  @Test
+  public void testNegotiate() {
+    final LocaleNegotiator negotiator = LocaleNegotiator.of(Locale.ENGLISH, Locale.JAPAN, Locale.US, Locale.FRENCH, Locale.CANADA_FRENCH);
+    assertEquals(Locale.ENGLISH, negotiator.negotiate(null));
+    assertEquals(Locale.ENGLISH, negotiator.negotiate(""));
+    assertEquals(Locale.ENGLISH, negotiator.negotiate("de"));
+    assertEquals(Locale.ENGLISH, negotiator.negotiate("de, *;q=0.1"));
+    assertEquals(Locale.ENGLISH, negotiator.negotiate("*, ja"));
+    assertEquals(Locale.JAPAN, negotiator.negotiate("ja-JP,en-US;q=0.8"));
+    assertEquals(Locale.JAPAN, negotiator.negotiate("ja"));
+    assertEquals(Locale.JAPAN, negotiator.negotiate("ja-jp"));
+    assertEquals(Locale.JAPAN, negotiator.negotiate("ja_JP"));
+    assertEquals(Locale.US, negotiator.negotiate("en-GB"));
+    assertEquals(Locale.US, negotiator.negotiate("fr-FR;q=0.9, en-US"));
+    assertEquals(Locale.FRENCH, negotiator.negotiate("fr-CH"));
+    assertEquals(Locale.FRENCH, negotiator.negotiate("fr"));
+    assertEquals(Locale.CANADA_FRENCH, negotiator.negotiate("fr-CA"));
+    assertEquals(Locale.JAPAN, negotiator.negotiate("de;q=0.9, ja;q=0.8, en;q=0.7"));
+    assertEquals(Locale.JAPAN, negotiator.negotiate("ja;q=0.8, en;q=0.8"));
+    assertEquals(Locale.US, negotiator.negotiate("ja;q=0, en;q=0.1"));
+  }
+
+  @Test
+  public void testCache() {
+    final LocaleNegotiator negotiator = LocaleNegotiator.of(Locale.ENGLISH, Locale.JAPAN, Locale.US);
+    assertEquals(0, negotiator.size());
+    assertEquals(Locale.JAPAN, negotiator.negotiate("ja-JP,en-US;q=0.8"));
+    assertEquals(Locale.JAPAN, negotiator.negotiate("ja-JP,en-US;q=0.8"));
+    assertEquals(Locale.ENGLISH, negotiator.negotiate(null));
+    assertEquals(1, negotiator.size());
+    assertEquals(1, negotiator.stats().hitCount());
+    assertEquals(1, negotiator.stats().missCount());
+
+    final String tooLong = StringUtils.repeat("de;q=0.5, ", LocaleNegotiator.MAXIMUM_HEADER_LENGTH) + "ja";
+    assertEquals(Locale.JAPAN, negotiator.negotiate(tooLong));
+    assertEquals(1, negotiator.size());
+
+    for (int i = 0; i < LocaleNegotiator.MAXIMUM_SIZE * 2; i++) negotiator.negotiate("ja;q=0." + i);
+    assertTrue(negotiator.size() <= LocaleNegotiator.MAXIMUM_SIZE);
+    negotiator.invalidateAll();
+    assertEquals(0, negotiator.size());
+  }
+
+  @Test
+  public void testSameAsJDK() {
+    final List<Locale> supported = Arrays.asList(Locale.JAPAN, Locale.US, Locale.UK, Locale.FRANCE, Locale.GERMANY);
+    final LocaleNegotiator negotiator = LocaleNegotiator.of(Locale.ROOT, supported.toArray(new Locale[]{}));
+    for (String acceptLanguage : new String[]{"ja-JP", "en-US,en;q=0.9", "en-GB;q=0.8, fr-FR", "de-DE, ja-JP;q=0.5", "it-IT, en-US;q=0.1"}) {
+      assertEquals(acceptLanguage, Locale.lookup(Locale.LanguageRange.parse(acceptLanguage), supported), negotiator.negotiate(acceptLanguage));
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalizerSnapshotTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static String snapshot(final Locale[] locales) throws IOException {
+    final StringWriter writer = new StringWriter();
+    LocalizerSnapshot.write(writer, locales);
+
+    return writer.toString();
+  }
+
+  private static Map<String, Locale> read(final String snapshot, final Locale[] locales) throws IOException {
+    return LocalizerSnapshot.read(new BufferedReader(new StringReader(snapshot)), locales);
+  }
+
+  @Test
+  public void testReadWrite() throws IOException {
+    final Locale[] locales = Locale.getAvailableLocales();
+    final Map<String, Locale> expect = Localizer.spellings(locales);
+    final Map<String, Locale> actual = read(snapshot(locales), locales);
+    assertEquals(expect, actual);
+    for (Map.Entry<String, Locale> entry : expect.entrySet()) assertSame(entry.getKey(), entry.getValue(), actual.get(entry.getKey()));
+    assertEquals(expect, Localizer.LazyInitializer.AVAILABLE_LOCALES);
+  }
+
+  @Test
+  public void testOtherLocaleData() throws IOException {
+    final Locale[] locales = Locale.getAvailableLocales();
+    final String snapshot = snapshot(locales);
+    assertNull(read(snapshot, Arrays.copyOf(locales, locales.length - 1)));
+    final Locale[] reordered = locales.clone();
+    final Locale first = reordered[0];
+    reordered[0] = reordered[1];
+    reordered[1] = first;
+    assertNull(read(snapshot, reordered));
+    assertNull(read("", locales));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testMalformed() throws IOException {
+    final Locale[] locales = Locale.getAvailableLocales();
+    read(LocalizerSnapshot.fingerprint(locales) + "\nja_JP\n", locales);
+  }
+
+  @Test
+  public void testWriteClasses() throws IOException {
+    final Path classes = folder.getRoot().toPath();
+    final Path path = LocalizerSnapshot.write(classes);
+    assertEquals(classes.resolve("jp/furplag/util").resolve(LocalizerSnapshot.RESOURCE), path);
+    assertEquals(snapshot(Locale.getAvailableLocales()), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testDisabled() {
+    final String property = System.getProperty(LocalizerSnapshot.PROPERTY);
+    try {
+      System.setProperty(LocalizerSnapshot.PROPERTY, "false");
+      assertNull(LocalizerSnapshot.load(Locale.getAvailableLocales()));
+    } finally {
+      if (property == null) System.clearProperty(LocalizerSnapshot.PROPERTY);
+      else System.setProperty(LocalizerSnapshot.PROPERTY, property);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class ParseResultTest {
+
+  @Test
+  public void testSuccess() {
+    assertTrue(ParseResult.success(null).isSuccess());
+    assertSame(ParseResult.success(null), ParseResult.success(null));
+    assertNull(ParseResult.success(null).get());
+    assertEquals("a", ParseResult.success("a").get());
+    assertEquals("a", ParseResult.success("a").orElse("b"));
+    assertEquals("a", ParseResult.success("a").orElseGet(() -> "b"));
+    assertNull(ParseResult.success("a").getFailure());
+  }
+
+  @Test
+  public void testFailure() {
+    final ParseResult<String> result = ParseResult.failure("malformed.");
+    assertFalse(result.isSuccess());
+    assertEquals("malformed.", result.getFailure());
+    assertEquals("b", result.orElse("b"));
+    assertEquals("b", result.orElseGet(() -> "b"));
+    assertEquals("null", ParseResult.failure(null).getFailure());
+    try {
+      result.get();
+      fail("must raise NoSuchElementException.");
+    } catch (NoSuchElementException e) {
+      assertEquals("malformed.", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+public class ZoneIdCacheTest {
+
+  @Test
+  public void testGetZoneIdUsesCache() {
+    ZoneIdCache.invalidateAll();
+    final long misses = ZoneIdCache.stats().missCount();
+    final long hits = ZoneIdCache.stats().hitCount();
+    assertEquals(ZoneId.of("Asia/Tokyo"), Localizer.getZoneId("Asia/Tokyo"));
+    assertEquals(ZoneId.of("Asia/Tokyo"), Localizer.getZoneId("Asia/Tokyo"));
+    assertEquals(ZoneId.of("Asia/Tokyo"), Localizer.getZoneId(TimeZone.getTimeZone("Asia/Tokyo")));
+    assertEquals(misses + 1, ZoneIdCache.stats().missCount());
+    assertEquals(hits + 2, ZoneIdCache.stats().hitCount());
+
+    assertEquals(ZoneId.of("+09:00"), Localizer.getZoneId(32400000L));
+    assertEquals(ZoneId.of("+09:00"), Localizer.getZoneId(32400000));
+    assertEquals(misses + 2, ZoneIdCache.stats().missCount());
+    assertEquals(hits + 3, ZoneIdCache.stats().hitCount());
+    assertEquals(2, ZoneIdCache.size());
+
+    assertEquals("not cached", ZoneId.systemDefault(), Localizer.getZoneId(null));
+    assertEquals("not cached", ZoneId.of("GMT+01:00"), Localizer.getZoneId(TimeZone.getTimeZone("GMT+01:00")));
+    assertEquals(2, ZoneIdCache.size());
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    Localizer.getZoneId("invalidated");
+    assertTrue(ZoneIdCache.size() > 0);
+    ZoneIdCache.invalidateAll();
+    assertEquals(0, ZoneIdCache.size());
+  }
+
+  @Test
+  public void testMaximumSize() {
+    for (int i = 0; i < ZoneIdCache.MAXIMUM_SIZE * 2; i++) Localizer.getZoneId(i * 1000L);
+    assertTrue(ZoneIdCache.size() <= ZoneIdCache.MAXIMUM_SIZE);
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util;
+
+import static org.junit.Assert.*;
+
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+public class ZoneOffsetsTest {
+
+  @Test
+  public void testParse() {
+    assertEquals(ZoneOffset.ofHours(9), ZoneOffsets.parse("9"));
+    assertEquals(ZoneOffset.ofHours(9), ZoneOffsets.parse("+09"));
+    assertEquals(ZoneOffset.ofHours(-9), ZoneOffsets.parse("-9"));
+    assertEquals(ZoneOffset.ofHoursMinutes(9, 30), ZoneOffsets.parse("+09:30"));
+    assertEquals(ZoneOffset.ofHoursMinutes(-9, -5), ZoneOffsets.parse("-9:5"));
+    assertEquals(ZoneOffset.ofHoursMinutesSeconds(9, 30, 15), ZoneOffsets.parse("+09:30:15"));
+    assertEquals(ZoneOffset.ofHoursMinutes(-5, -30), ZoneOffsets.parse("-0530"));
+    assertEquals(ZoneOffset.ofHoursMinutesSeconds(5, 30, 15), ZoneOffsets.parse("053015"));
+    assertEquals(ZoneOffset.ofHours(18), ZoneOffsets.parse("+18:00"));
+    assertEquals(ZoneOffset.ofHours(-18), ZoneOffsets.parse("-18"));
+    assertEquals(ZoneOffset.UTC, ZoneOffsets.parse("-00:00"));
+    assertEquals(ZoneOffset.ofHours(9), ZoneOffsets.parse(" \t+09:00\n"));
+    assertEquals(ZoneOffset.ofHoursMinutes(9, 30), ZoneOffsets.parse("＋０９：３０"));
+    assertEquals(ZoneOffset.ofHoursMinutes(-9, -30), ZoneOffsets.parse("－09:30"));
+  }
+
+  @Test
+  public void testNotOffset() {
+    for (String str : new String[]{null, "", " ", "+", "-", "+-9", "123", "12345", "1234567", "+9:", "+9:00:", "+:30", "+09:30:15:00", "+09::30", "+09:300", "12.345", "1.23.45", "+09:30.5", "+0930:00", "+19:00", "+18:01", "+09:60", "+09:00:60", "Asia/Tokyo", "9 00"}) {
+      assertNull(str, ZoneOffsets.parse(str));
+    }
+  }
+
+  @Test
+  public void testOfTotalSeconds() {
+    for (int seconds = -18 * 3600; seconds <= 18 * 3600; seconds++) {
+      assertEquals(ZoneOffset.ofTotalSeconds(seconds), ZoneOffsets.ofTotalSeconds(seconds));
+      if (seconds % 900 == 0) assertSame(ZoneOffsets.ofTotalSeconds(seconds), ZoneOffsets.ofTotalSeconds(seconds));
+    }
+    assertSame(ZoneOffset.UTC, ZoneOffsets.ofTotalSeconds(0));
+    assertNull(ZoneOffsets.ofTotalSeconds(18 * 3600 + 1));
+    assertNull(ZoneOffsets.ofTotalSeconds(-18 * 3600 - 1));
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class BulkStringUtilsTest {
+
+  private static String[] column(final int size) {
+    final String[] column = new String[size];
+    final String[] values = {null, "", " 　", "ＡＢＣ　ｄｅｆ", "  東京都  ", "ｶﾞｷﾞｸﾞ", "鮨鮃𩸽鮪"};
+    for (int i = 0; i < size; i++) column[i] = values[i % values.length] == null ? null : values[i % values.length] + (i % 3 == 0 ? "" : i);
+
+    return column;
+  }
+
+  @Test
+  public void testMapArray() {
+    assertNull(BulkStringUtils.map((String[]) null, StringUtils::normalize, false));
+    assertArrayEquals(new String[]{}, BulkStringUtils.map(new String[]{}, StringUtils::normalize, true));
+    assertArrayEquals(new String[]{null, "ABC def", "東京都"}, BulkStringUtils.map(new String[]{"", "ＡＢＣ　ｄｅｆ", " 東京都 "}, StringUtils::normalize, false));
+    for (boolean parallel : new boolean[]{false, true}) {
+      final String[] column = column(BulkStringUtils.THRESHOLD * 10 + 7);
+      final String[] results = BulkStringUtils.map(column, StringUtils::flatten, parallel);
+      assertEquals(column.length, results.length);
+      for (int i = 0; i < column.length; i++) assertEquals(StringUtils.flatten(column[i]), results[i]);
+    }
+  }
+
+  @Test
+  public void testMapList() {
+    assertNull(BulkStringUtils.map((List<String>) null, StringUtils::trim, false));
+    final List<String> column = new LinkedList<>(Arrays.asList(column(BulkStringUtils.THRESHOLD * 3)));
+    final List<String> results = BulkStringUtils.map(column, (s) -> StringUtils.normalizeKana(s, true), true);
+    assertEquals(column.size(), results.size());
+    for (int i = 0; i < column.size(); i++) assertEquals(StringUtils.normalizeKana(column.get(i), true), results.get(i));
+  }
+
+  @Test
+  public void testMapStream() {
+    assertEquals(0, BulkStringUtils.map((Stream<String>) null, StringUtils::trim).count());
+    assertEquals(Arrays.asList("abc", "def"), BulkStringUtils.map(Stream.of(" ABC ", "Ｄ Ｅ Ｆ"), (s) -> StringUtils.flatten(StringUtils.normalize(s))).collect(Collectors.toList()));
+    final String[] column = column(BulkStringUtils.THRESHOLD * 4);
+    assertEquals(Arrays.asList(BulkStringUtils.map(column, StringUtils::trim, false)), BulkStringUtils.map(Arrays.stream(column).parallel(), StringUtils::trim).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testByteLength() {
+    assertNull(BulkStringUtils.byteLength((String[]) null, null, false));
+    assertNull(BulkStringUtils.byteLength((List<String>) null, null, false));
+    assertEquals(0, BulkStringUtils.byteLength((Stream<String>) null, null).count());
+    assertArrayEquals(new int[]{0, 0, 1, 3, 4}, BulkStringUtils.byteLength(new String[]{null, "", "a", "鮨", "𩸽"}, StandardCharsets.UTF_8, false));
+    final String[] column = column(BulkStringUtils.THRESHOLD * 5);
+    final int[] expected = new int[column.length];
+    for (int i = 0; i < column.length; i++) expected[i] = StringUtils.byteLength(column[i], StandardCharsets.UTF_8);
+    assertArrayEquals(expected, BulkStringUtils.byteLength(column, StandardCharsets.UTF_8, true));
+    assertArrayEquals(expected, BulkStringUtils.byteLength(Arrays.asList(column), StandardCharsets.UTF_8, true));
+    assertArrayEquals(expected, BulkStringUtils.byteLength(Arrays.stream(column), StandardCharsets.UTF_8).toArray());
+  }
+}
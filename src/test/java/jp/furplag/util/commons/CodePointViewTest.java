@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class CodePointViewTest {
+
+  @Test
+  public void testLength() {
+    assertEquals(0, CodePointView.of(null).length());
+    assertEquals(0, CodePointView.of("").length());
+    assertEquals(3, CodePointView.of("abc").length());
+    assertEquals(4, CodePointView.of("鮨鮃𩸽鮪").length());
+    assertEquals(2, CodePointView.of("\uD867a").length());
+    assertFalse(CodePointView.of("鮨鮃鮪").hasSurrogatePairs());
+    assertTrue(CodePointView.of("鮨鮃𩸽鮪").hasSurrogatePairs());
+  }
+
+  @Test
+  public void testCodePointAt() {
+    assertEquals(39848, CodePointView.of("鮨鮃𩸽鮪").codePointAt(0));
+    assertEquals(171581, CodePointView.of("鮨鮃𩸽鮪").codePointAt(2));
+    assertEquals(39850, CodePointView.of("鮨鮃𩸽鮪").codePointAt(3));
+    assertEquals(171581, CodePointView.of("𩸽𩸽𩸽").codePointAt(2));
+    try {
+      CodePointView.of("鮨鮃𩸽鮪").codePointAt(4);
+      fail("out of range.");
+    } catch (IndexOutOfBoundsException e) {}
+  }
+
+  @Test
+  public void testOffsetOf() {
+    final CodePointView codePoints = CodePointView.of("a𩸽b𩸽𩸽c");
+    final int[] expected = {0, 1, 3, 4, 6, 8, 9};
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], codePoints.offsetOf(i));
+    }
+  }
+
+  @Test
+  public void testSubSequence() {
+    assertEquals("", CodePointView.of(null).subSequence(0, 0).toString());
+    assertEquals("bc", CodePointView.of("abc").subSequence(1, 3).toString());
+    assertEquals("𩸽鮪", CodePointView.of("鮨鮃𩸽鮪").subSequence(2, 4).toString());
+    assertEquals("鮃𩸽", CodePointView.of("鮨鮃𩸽鮪").subSequence(1, 3).toString());
+  }
+
+  @Test
+  public void testToArray() {
+    assertArrayEquals(new int[]{}, CodePointView.of(null).toArray());
+    assertArrayEquals(new int[]{39848, 39811, 171581, 39850}, CodePointView.of("鮨鮃𩸽鮪").toArray());
+    assertArrayEquals(new int[]{0xD867, 97}, CodePointView.of("\uD867a").toArray());
+  }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2016+ furplag (https://github.com/furplag)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jp.furplag.util.commons;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class PatternCacheTest {
+
+  @Test
+  public void testCompile() {
+    final String regex = "(compiled)+" + System.nanoTime();
+    final long misses = PatternCache.stats().missCount();
+    final long hits = PatternCache.stats().hitCount();
+    assertSame(PatternCache.compile(regex), PatternCache.compile(regex));
+    assertEquals(misses + 1, PatternCache.stats().missCount());
+    assertEquals(hits + 1, PatternCache.stats().hitCount());
+    assertEquals(regex, PatternCache.compile(regex).pattern());
+  }
+
+  @Test
+  public void testReplaceAllUsesCache() {
+    final String regex = "(cached)+" + System.nanoTime();
+    final long misses = PatternCache.stats().missCount();
+    final long hits = PatternCache.stats().hitCount();
+    assertEquals("abc", StringUtils.replaceAll("abc", regex, ""));
+    assertEquals("abc", StringUtils.replaceAll("abc", regex, ""));
+    assertEquals(misses + 1, PatternCache.stats().missCount());
+    assertEquals(hits + 1, PatternCache.stats().hitCount());
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    PatternCache.compile("invalidated");
+    assertTrue(PatternCache.size() > 0);
+    PatternCache.invalidateAll();
+    assertEquals(0, PatternCache.size());
+  }
+
+  @Test
+  public void testMaximumSize() {
+    for (int i = 0; i < PatternCache.MAXIMUM_SIZE * 2; i++) PatternCache.compile("evicted" + i);
+    assertTrue(PatternCache.size() <= PatternCache.MAXIMUM_SIZE);
+  }
+}
@@ -17,10 +17,25 @@ package jp.furplag.util.commons;
 
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import jp.furplag.util.commons.StringUtils.KanaForm;
+
 public class StringUtilsTest {
 
   @BeforeClass
@@ -50,6 +65,30 @@ public class StringUtilsTest {
     assertEquals("TTT@", StringUtils.replaceLast("TTTT", "(t|T)", "@"));
     assertEquals("TETET@T", StringUtils.replaceLast("TETETET", "E", "@"));
     assertEquals("TestMustBest", StringUtils.replaceLast("TestMustBestTest", "Test", ""));
+    assertEquals("a@", StringUtils.replaceLast("aaa", "aa", "@"));
+    assertEquals("ja_", StringUtils.replaceLast("ja__", "_+$", ""));
+    assertEquals("/usr", StringUtils.replaceLast("/usr/local\nbin", "/.*", ""));
+    assertEquals("Tes[t]", StringUtils.replaceLast("Test", "(t|T)", "[$1]"));
+    assertEquals("abc@", StringUtils.replaceLast("abc", "x*", "@"));
+    assertEquals(null, StringUtils.replaceLast(null, "test", "Test"));
+    assertEquals("test", StringUtils.replaceLast("test", "", "Test"));
+  }
+
+  @Test
+  public void testReplaceAllMatches() {
+    assertEquals(null, StringUtils.replaceAllMatches(null, Pattern.compile("test"), "Test"));
+    assertEquals("test", StringUtils.replaceAllMatches("test", null, "Test"));
+    assertEquals("TesT", StringUtils.replaceAllMatches("test", Pattern.compile("t"), "T"));
+    assertEquals("es", StringUtils.replaceAllMatches("test", Pattern.compile("t"), null));
+  }
+
+  @Test
+  public void testReplaceLastMatch() {
+    assertEquals(null, StringUtils.replaceLastMatch(null, Pattern.compile("test"), "Test"));
+    assertEquals("test", StringUtils.replaceLastMatch("test", null, "Test"));
+    assertEquals("tesT", StringUtils.replaceLastMatch("test", Pattern.compile("t"), "T"));
+    assertEquals("TETET@T", StringUtils.replaceLastMatch("TETETET", Pattern.compile("E"), "@"));
+    assertEquals("/usr/local\nbi", StringUtils.replaceLastMatch("/usr/local\nbin", Pattern.compile("\\w+$"), ""));
   }
 
   @Test
@@ -74,6 +113,23 @@ public class StringUtilsTest {
     assertEquals(4, StringUtils.byteLength("𩸽"));
   }
 
+  @Test
+  public void testByteLengthCharset() {
+    assertEquals(0, StringUtils.byteLength(null, StandardCharsets.UTF_8));
+    assertEquals(0, StringUtils.byteLength("", StandardCharsets.UTF_16));
+    assertEquals(StringUtils.byteLength("髭"), StringUtils.byteLength("髭", null));
+    assertEquals(4, StringUtils.byteLength("𩸽", StandardCharsets.UTF_8));
+    assertEquals(2, StringUtils.byteLength("髭", Charset.forName("Shift_JIS")));
+    assertEquals(4, StringUtils.byteLength("X", StandardCharsets.UTF_16));
+    final String[] strings = {"", "\r\n", "abc", "дX髭", "𩸽鮨", "ｱｲｳ№①～￥", "\uD867", "a\uDE3Db\uD867", "\u20AC\u00A5\u203E\\~", "鮨鮃𩸽鮪 　abc"};
+    for (String charsetName : new String[]{"UTF-8", "UTF-16", "UTF-16BE", "UTF-16LE", "US-ASCII", "ISO-8859-1", "Shift_JIS", "MS932", "EUC-JP", "UTF-32", "ISO-2022-JP", "windows-1252"}) {
+      final Charset charset = Charset.forName(charsetName);
+      for (String str : strings) {
+        assertEquals(charsetName + ": " + str, str.getBytes(charset).length, StringUtils.byteLength(str, charset));
+      }
+    }
+  }
+
   @Test
   public void testSubstringUCL() {
     assertEquals("", StringUtils.substringUCL(null, 0, 1));
@@ -100,6 +156,8 @@ public class StringUtilsTest {
     assertEquals("", StringUtils.substringUBL("abc", -2, -2));
     assertEquals("b", StringUtils.substringUBL("abc", -2, 1));
     assertEquals("ab", StringUtils.substringUBL("abc", -4, 2));
+    assertEquals("𩸽鮪", StringUtils.substringUBL("鮨鮃𩸽鮪", -2, 7, StandardCharsets.UTF_8));
+    assertEquals("鮃", StringUtils.substringUBL("鮨鮃𩸽鮪", 1, 6, StandardCharsets.UTF_8));
   }
 
   @Test
@@ -113,6 +171,45 @@ public class StringUtilsTest {
     assertArrayEquals(new String[]{}, StringUtils.splitUBL("abc", -1));// []
   }
 
+  @Test
+  public void testSplitUBLCharset() {
+    assertArrayEquals(new String[]{"鮨", "鮃", "𩸽", "鮪"}, StringUtils.splitUBL("鮨鮃𩸽鮪", 5, StandardCharsets.UTF_8));
+    assertArrayEquals(new String[]{"鮨鮃", "𩸽", "鮪"}, StringUtils.splitUBL("鮨鮃𩸽鮪", 6, StandardCharsets.UTF_8));
+    assertArrayEquals(new String[]{"鮨鮃", "鮪a"}, StringUtils.splitUBL("鮨鮃鮪a", 4, Charset.forName("Shift_JIS")));
+    try {
+      StringUtils.splitUBL("a鮨", 2, StandardCharsets.UTF_8);
+      fail("byteLen too small.");
+    } catch (IllegalArgumentException e) {}
+  }
+
+  @Test
+  public void testSplitIndicesUBL() {
+    assertArrayEquals(new int[]{}, StringUtils.splitIndicesUBL(null, 1, null));
+    assertArrayEquals(new int[]{}, StringUtils.splitIndicesUBL("", 1, null));
+    assertArrayEquals(new int[]{}, StringUtils.splitIndicesUBL("abc", 0, null));
+    assertArrayEquals(new int[]{0, 2, 3}, StringUtils.splitIndicesUBL("abc", 2, StandardCharsets.UTF_8));
+    assertArrayEquals(new int[]{0, 1, 2, 4, 5}, StringUtils.splitIndicesUBL("鮨鮃𩸽鮪", 4, StandardCharsets.UTF_8));
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 10000; i++) sb.append("abc鮨𩸽");
+    final int[] boundaries = StringUtils.splitIndicesUBL(sb, 80, StandardCharsets.UTF_8);
+    assertEquals(sb.length(), boundaries[boundaries.length - 1]);
+    for (int i = 1; i < boundaries.length; i++) {
+      assertTrue(StringUtils.byteLength(sb.substring(boundaries[i - 1], boundaries[i]), StandardCharsets.UTF_8) <= 80);
+    }
+  }
+
+  @Test
+  public void testIterateUBL() {
+    assertFalse(StringUtils.iterateUBL(null, 1, null).hasNext());
+    assertFalse(StringUtils.iterateUBL("abc", 0, null).hasNext());
+    final Iterator<CharSequence> iterator = StringUtils.iterateUBL("abcde", 2, StandardCharsets.UTF_8);
+    assertEquals("ab", iterator.next().toString());
+    assertEquals("cd", iterator.next().toString());
+    assertEquals("e", iterator.next().toString());
+    assertFalse(iterator.hasNext());
+    assertEquals(Arrays.asList("鮨鮃", "𩸽", "鮪"), StringUtils.streamUBL("鮨鮃𩸽鮪", 6, StandardCharsets.UTF_8).map(CharSequence::toString).collect(Collectors.toList()));
+  }
+
   @Test
   public void testGetCodePoints() {
     assertArrayEquals(new int[]{}, StringUtils.getCodePoints(null));
@@ -145,6 +242,41 @@ public class StringUtilsTest {
     assertEquals("c", StringUtils.joinExcludesBlank(new String[]{"a", "", null, "c"}, ";", 1, 4));
   }
 
+  @Test
+  public void testJoinExcludesBlankAppendable() throws IOException {
+    assertEquals("", StringUtils.joinExcludesBlank(new StringBuilder(), null, ";", 0, 1).toString());
+    assertEquals("x:a;c", StringUtils.joinExcludesBlank(new StringBuilder("x:"), new Object[]{"a", "", null, " ", "c"}, ";", 0, 5).toString());
+    assertEquals("c", StringUtils.joinExcludesBlank(new StringBuilder(), new Object[]{"a", "", null, "c"}, ";", 1, 4).toString());
+    final StringWriter writer = new StringWriter();
+    StringUtils.joinExcludesBlank(writer, new Object[]{1, null, new StringBuilder("b"), 2.5d}, ", ", 0, -1);
+    assertEquals("1, b", writer.toString());
+  }
+
+  @Test
+  public void testJoinExcludesBlankStringifyOnce() {
+    final AtomicInteger counter = new AtomicInteger();
+    final Object counted = new Object() {
+      @Override
+      public String toString() {
+        counter.incrementAndGet();
+        return "o";
+      }
+    };
+    assertEquals("a;o;b", StringUtils.joinExcludesBlank(new Object[]{"a", counted, "", "b"}, ";"));
+    assertEquals(1, counter.get());
+  }
+
+  @Test
+  public void testJoiningExcludesBlank() {
+    assertEquals("", Stream.empty().collect(StringUtils.joiningExcludesBlank(";")));
+    assertEquals("a;c", Stream.of("a", "", null, " ", "c").collect(StringUtils.joiningExcludesBlank(";")));
+    assertEquals("ac", Stream.of("a", "", null, "c").collect(StringUtils.joiningExcludesBlank(null)));
+    assertEquals("1;2;3", Stream.of(1, null, 2, 3).collect(StringUtils.joiningExcludesBlank(";")));
+    final String[] values = new String[10000];
+    for (int i = 0; i < values.length; i++) values[i] = i % 3 == 0 ? " " : String.valueOf(i);
+    assertEquals(StringUtils.joinExcludesBlank(values, ","), Arrays.stream(values).parallel().collect(StringUtils.joiningExcludesBlank(",")));
+  }
+
   @Test
   public void testIsSimilarToBlank() {
     assertEquals(true, StringUtils.isSimilarToBlank(null));
@@ -175,6 +307,35 @@ public class StringUtilsTest {
     assertEquals("ABCDEF123456あいうえおカキクケコ", StringUtils.normalize("ABCＤＥＦ123４５６あいうえおｶｷｸｹｺ", true));
   }
 
+  @Test
+  public void testNormalizeFused() {
+    final String normalized = "東京都千代田区丸の内1-1";
+    assertSame(normalized, StringUtils.normalize(normalized));
+    assertSame("abc", StringUtils.normalize("abc"));
+    assertEquals("a-b-c-d-e", StringUtils.normalize("a‐b－c―d−e"));
+    assertEquals("a b", StringUtils.normalize("\u00A0a\u00A0\u3000 b\t"));
+    final char[] pool = {' ', '\t', '\n', '\u3000', '\u00A0', '\u0001', 'a', 'Ａ', 'ｶ', 'ﾞ', 'か', '‐', '－', '―', '−', '①', '㍻'};
+    final Random random = new Random(0);
+    for (int n = 0; n < 10000; n++) {
+      final char[] chars = new char[random.nextInt(8)];
+      for (int i = 0; i < chars.length; i++) chars[i] = pool[random.nextInt(pool.length)];
+      final String str = new String(chars);
+      final String expected = Normalizer.normalize(str, Normalizer.Form.NFKC).replaceAll("[\\s\\t　]+", " ").replaceAll("[‐－―−]", "-").trim();
+      assertEquals(str, StringUtils.isSimilarToBlank(str) ? null : expected, StringUtils.normalize(str, false));
+      assertEquals(str, expected, StringUtils.normalize(str, true));
+    }
+  }
+
+  @Test
+  public void testNormalizeCached() {
+    assertEquals(null, StringUtils.normalizeCached(null, false));
+    assertEquals("", StringUtils.normalizeCached(" 　", true));
+    assertEquals("株式会社ABC", StringUtils.normalizeCached("株式会社ＡＢＣ", false));
+    assertSame(StringUtils.normalizeCached("株式会社ＡＢＣ", false), StringUtils.normalizeCached("株式会社ＡＢＣ", true));
+    final String longer = StringUtils.repeat("ＡＢＣ", 30);
+    assertEquals(StringUtils.repeat("ABC", 30), StringUtils.normalizeCached(longer, false));
+  }
+
   @Test
   public void testNormalizeKana() {
     assertEquals("ABCDEF123456あいうえおかきくけこ", StringUtils.normalizeKana("ABCＤＥＦ123４５６アイウエオｶｷｸｹｺ", false));
@@ -185,6 +346,22 @@ public class StringUtilsTest {
     assertEquals("ABCDEF123456アイウエオカキクケコ", StringUtils.normalizeKana("ABCＤＥＦ123４５６あいうえおｶｷｸｹｺ", true));
   }
 
+  @Test
+  public void testNormalizeKanaForm() {
+    assertEquals(null, StringUtils.normalizeKana(null, KanaForm.HIRAGANA, false));
+    assertEquals(null, StringUtils.normalizeKana(" 　", KanaForm.KATAKANA, true));
+    assertEquals("ABCあいうカキク", StringUtils.normalizeKana("ABCあいうｶｷｸ", null, false));
+    assertEquals("らーめん", StringUtils.normalizeKana("ラーメン", KanaForm.HIRAGANA, false));
+    assertEquals("ゝゞゔゕゖヷ", StringUtils.normalizeKana("ヽヾヴヵヶヷ", KanaForm.HIRAGANA, false));
+    assertEquals("ヽヾヴヵヶー", StringUtils.normalizeKana("ゝゞゔゕゖー", KanaForm.KATAKANA, false));
+    assertEquals("ｱｲｳｶﾞｷﾞｸﾞﾊﾟｰﾗｰﾒﾝ｡", StringUtils.normalizeKana("あいうガギグパーらーめん。", KanaForm.HALFWIDTH_KATAKANA, false));
+    assertEquals("ｳﾞヵヶ123", StringUtils.normalizeKana("ゔゕヶ１２３", KanaForm.HALFWIDTH_KATAKANA, false));
+    assertEquals("がぎぱ", StringUtils.normalizeKana("か゛き゛は゜", KanaForm.HIRAGANA, true));
+    assertEquals("ガギパ", StringUtils.normalizeKana("ｶ゛キ゛ﾊﾟ", KanaForm.KATAKANA, true));
+    assertEquals("あ ゙", StringUtils.normalizeKana("あ゛", KanaForm.HIRAGANA, true));
+    assertEquals("ﾊﾞﾝｻﾞｲ", StringUtils.normalizeKana("ハ゛ンサ゛イ", KanaForm.HALFWIDTH_KATAKANA, true));
+  }
+
   @Test
   public void testTrimString() {
     assertEquals(null, StringUtils.trim(null));
@@ -210,5 +387,28 @@ public class StringUtilsTest {
     assertEquals("abc", StringUtils.flatten("ABC"));
     assertEquals("abcdef", StringUtils.flatten("ABC DEF"));
     assertEquals("abcdefghi", StringUtils.flatten("  ABC DEF ghi  "));
+    assertEquals("a\u0001b", StringUtils.flatten("\u0001 A\u0001\u3000 B\t\u0001"));
+  }
+
+  @Test
+  public void testWhitespaceScanners() {
+    final String flat = "abc";
+    assertSame(flat, StringUtils.trim(flat));
+    assertSame(flat, StringUtils.flatten(flat));
+    final String spaced = "a b c";
+    assertSame(spaced, StringUtils.trim(spaced));
+    final char[] pool = {' ', '\t', '\n', '\r', '\u000B', '\f', '\u3000', '\u0001', 'a', 'B', '鰍', '\u00A0'};
+    final Random random = new Random(0);
+    for (int n = 0; n < 10000; n++) {
+      final char[] chars = new char[random.nextInt(8)];
+      for (int i = 0; i < chars.length; i++) chars[i] = pool[random.nextInt(pool.length)];
+      final String str = new String(chars);
+      final boolean blank = str.replaceAll("[\\s\\r\\n\\t　]", "").length() == 0;
+      final String trimmed = str.replaceAll("[\\s\\t　]+", " ").trim();
+      assertEquals(str, blank, StringUtils.isSimilarToBlank(str));
+      assertEquals(str, blank ? null : trimmed, StringUtils.trim(str, false));
+      assertEquals(str, trimmed, StringUtils.trim(str, true));
+      assertEquals(str, trimmed.toLowerCase().replaceAll("\\s", ""), StringUtils.flatten(str));
+    }
   }
 }